@@ -0,0 +1,25 @@
+package com.mjc.school.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Repository and service layers on an in-memory H2 database in PostgreSQL mode, configured from
+ * benchmark.properties instead of the application settings.
+ */
+@SpringBootApplication(scanBasePackages = {"com.mjc.school.repository", "com.mjc.school.service"})
+@EntityScan("com.mjc.school.repository.model")
+@EnableJpaRepositories("com.mjc.school.repository.impl")
+public class BenchmarkApplication {
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.config.name=benchmark")
+                .run();
+    }
+}
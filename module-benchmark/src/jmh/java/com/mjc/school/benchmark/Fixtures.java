@@ -0,0 +1,138 @@
+package com.mjc.school.benchmark;
+
+import com.mjc.school.repository.model.AuthorModel;
+import com.mjc.school.repository.model.CommentModel;
+import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.repository.model.TagModel;
+import com.mjc.school.service.dto.IdSet;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Detached entity graphs for mapper benchmarks: every news has an author, three tags and two comments.
+ */
+final class Fixtures {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static List<NewsModel> news(int size) {
+        List<AuthorModel> authors = authors(Math.max(size / 10, 1));
+        List<TagModel> tags = tags(Math.max(size / 5, 3));
+        List<NewsModel> news = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            NewsModel newsModel = new NewsModel();
+            newsModel.setId(id);
+            newsModel.setTitle("Title " + id);
+            newsModel.setContent("Content of the news number " + id);
+            newsModel.setCreateDate(NOW.plusMinutes(id));
+            newsModel.setLastUpdateDate(NOW.plusMinutes(id));
+
+            AuthorModel author = authors.get((int) (id % authors.size()));
+            newsModel.setAuthor(author);
+            author.getNews().add(newsModel);
+
+            Set<TagModel> newsTags = new HashSet<>();
+            for (int i = 0; i < 3; i++) {
+                TagModel tag = tags.get((int) ((id + i) % tags.size()));
+                newsTags.add(tag);
+                tag.getNews().add(newsModel);
+            }
+            newsModel.setTags(newsTags);
+
+            List<CommentModel> comments = new ArrayList<>();
+            for (long i = 0; i < 2; i++) {
+                CommentModel comment = new CommentModel();
+                comment.setId(id * 2 + i);
+                comment.setContent("Comment " + i + " on news " + id);
+                comment.setCreateDate(NOW.plusMinutes(id));
+                comment.setLastUpdateDate(NOW.plusMinutes(id));
+                comment.setNews(newsModel);
+                comments.add(comment);
+            }
+            newsModel.setComments(comments);
+            news.add(newsModel);
+        }
+        return news;
+    }
+
+    static List<AuthorModel> authors(List<NewsModel> news) {
+        return news.stream().map(NewsModel::getAuthor).distinct().toList();
+    }
+
+    static List<TagModel> tags(List<NewsModel> news) {
+        return news.stream().flatMap(newsModel -> newsModel.getTags().stream()).distinct().toList();
+    }
+
+    /**
+     * What the tag_news pair query returns for these news.
+     */
+    static Map<Long, IdSet> tagsIds(List<NewsModel> news) {
+        Map<Long, IdSet> tagsIds = new HashMap<>();
+        for (NewsModel newsModel : news) {
+            tagsIds.put(newsModel.getId(), IdSet.of(newsModel.getTags().stream().mapToLong(TagModel::getId).toArray()));
+        }
+        return tagsIds;
+    }
+
+    /**
+     * What the news foreign-key projection returns for these authors.
+     */
+    static Map<Long, IdSet> authorsNewsIds(List<AuthorModel> authors) {
+        Map<Long, IdSet> newsIds = new HashMap<>();
+        for (AuthorModel author : authors) {
+            newsIds.put(author.getId(), IdSet.of(author.getNews().stream().mapToLong(NewsModel::getId).toArray()));
+        }
+        return newsIds;
+    }
+
+    /**
+     * What the tag_news pair query returns for these tags.
+     */
+    static Map<Long, IdSet> tagsNewsIds(List<TagModel> tags) {
+        Map<Long, IdSet> newsIds = new HashMap<>();
+        for (TagModel tag : tags) {
+            newsIds.put(tag.getId(), IdSet.of(tag.getNews().stream().mapToLong(NewsModel::getId).toArray()));
+        }
+        return newsIds;
+    }
+
+    static List<CommentModel> comments(List<NewsModel> news) {
+        return news.stream().flatMap(newsModel -> newsModel.getComments().stream()).toList();
+    }
+
+    private static List<AuthorModel> authors(int size) {
+        List<AuthorModel> authors = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            AuthorModel author = new AuthorModel();
+            author.setId(id);
+            author.setName("Author " + id);
+            author.setCreateDate(NOW);
+            author.setLastUpdateDate(NOW);
+            author.setNews(new HashSet<>());
+            authors.add(author);
+        }
+        return authors;
+    }
+
+    private static List<TagModel> tags(int size) {
+        List<TagModel> tags = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            TagModel tag = new TagModel();
+            tag.setId(id);
+            tag.setName("Tag " + id);
+            tag.setCreateDate(NOW);
+            tag.setLastUpdateDate(NOW);
+            tag.setNews(new HashSet<>());
+            tags.add(tag);
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,84 @@
+package com.mjc.school.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mjc.school.controller.BinaryFormats;
+import com.mjc.school.controller.Pagination;
+import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.mapper.NewsMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.HalHandlerInstantiator;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.LinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding one page of {@code /news} as HAL JSON, CBOR and Smile. The payload size of each
+ * format is reported as the {@code payloadBytes} secondary metric, so it lands in the JSON results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormatBenchmark {
+    @Param({"10", "100"})
+    private int limit;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private PagedModel<NewsDTO> page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        LinkRelationProvider relProvider = new DefaultLinkRelationProvider();
+        mapper = switch (format) {
+            case "cbor" -> BinaryFormats.cborMapper(jsonMapper, relProvider);
+            case "smile" -> BinaryFormats.smileMapper(jsonMapper, relProvider);
+            default -> {
+                jsonMapper.registerModule(new Jackson2HalModule());
+                jsonMapper.setHandlerInstantiator(new HalHandlerInstantiator(relProvider, CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+                yield jsonMapper;
+            }
+        };
+
+        List<NewsModel> news = Fixtures.news(limit);
+        List<NewsDTO> content = NewsMapper.INSTANCE.newsListToNewsDtoList(news, Fixtures.tagsIds(news));
+        page = Pagination.toPagedModel(new PageImpl<>(content, Pagination.pageRequest(3, limit, "asc", "title"), limit * 50L), "/news", "asc");
+    }
+
+    @Benchmark
+    public byte[] encode(Payload payload) throws JsonProcessingException {
+        byte[] bytes = mapper.writeValueAsBytes(page);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    /**
+     * Holds the size of the last encoded page rather than a running total, so with the default
+     * single benchmark thread the metric reads as bytes per operation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+}
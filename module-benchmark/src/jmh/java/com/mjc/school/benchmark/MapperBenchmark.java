@@ -0,0 +1,74 @@
+package com.mjc.school.benchmark;
+
+import com.mjc.school.repository.model.AuthorModel;
+import com.mjc.school.repository.model.CommentModel;
+import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.repository.model.TagModel;
+import com.mjc.school.service.dto.AuthorDTO;
+import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.IdSet;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.TagDTO;
+import com.mjc.school.service.mapper.AuthorMapper;
+import com.mjc.school.service.mapper.CommentMapper;
+import com.mjc.school.service.mapper.NewsMapper;
+import com.mjc.school.service.mapper.TagMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private List<NewsModel> news;
+    private Map<Long, IdSet> tagsIds;
+    private List<AuthorModel> authors;
+    private Map<Long, IdSet> authorsNewsIds;
+    private List<TagModel> tags;
+    private Map<Long, IdSet> tagsNewsIds;
+    private List<CommentModel> comments;
+
+    @Setup
+    public void setUp() {
+        news = Fixtures.news(size);
+        tagsIds = Fixtures.tagsIds(news);
+        authors = Fixtures.authors(news);
+        authorsNewsIds = Fixtures.authorsNewsIds(authors);
+        tags = Fixtures.tags(news);
+        tagsNewsIds = Fixtures.tagsNewsIds(tags);
+        comments = Fixtures.comments(news);
+    }
+
+    @Benchmark
+    public List<NewsDTO> newsList() {
+        return NewsMapper.INSTANCE.newsListToNewsDtoList(news, tagsIds);
+    }
+
+    @Benchmark
+    public List<AuthorDTO> authorList() {
+        return AuthorMapper.INSTANCE.authorListToAuthorDtoList(authors, authorsNewsIds);
+    }
+
+    @Benchmark
+    public List<TagDTO> tagList() {
+        return TagMapper.INSTANCE.tagListToTagDTOList(tags, tagsNewsIds);
+    }
+
+    @Benchmark
+    public List<CommentDTO> commentList() {
+        return CommentMapper.INSTANCE.commentListToCommentDTOList(comments);
+    }
+}
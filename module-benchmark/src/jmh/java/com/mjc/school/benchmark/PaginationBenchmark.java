@@ -0,0 +1,53 @@
+package com.mjc.school.benchmark;
+
+import com.mjc.school.controller.Pagination;
+import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.mapper.NewsMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.PagedModel;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The web side of {@code readAll}: parsing paging parameters and wrapping a page into a
+ * {@link PagedModel} with navigation links. The page content comes from an already mapped list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaginationBenchmark {
+    @Param({"10", "100"})
+    private int limit;
+
+    @Param({"asc", "desc", "none"})
+    private String sort;
+
+    private List<NewsDTO> content;
+    private long total;
+
+    @Setup
+    public void setUp() {
+        List<NewsModel> news = Fixtures.news(limit);
+        content = NewsMapper.INSTANCE.newsListToNewsDtoList(news, Fixtures.tagsIds(news));
+        total = limit * 50L;
+    }
+
+    @Benchmark
+    public PagedModel<NewsDTO> readAllPage() {
+        Pageable pageable = Pagination.pageRequest(3, limit, sort, "title");
+        Page<NewsDTO> page = new PageImpl<>(content, pageable, total);
+        return Pagination.toPagedModel(page, "/news", sort);
+    }
+}
@@ -0,0 +1,97 @@
+package com.mjc.school.benchmark;
+
+import com.mjc.school.repository.impl.AuthorRepository;
+import com.mjc.school.repository.impl.CommentRepository;
+import com.mjc.school.repository.impl.NewsRepository;
+import com.mjc.school.repository.impl.TagRepository;
+import com.mjc.school.repository.model.AuthorModel;
+import com.mjc.school.repository.model.CommentModel;
+import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.repository.model.TagModel;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seeds the benchmark database: one author per 10 news, one tag per 5 news (at least 3),
+ * three tags and two comments per news.
+ */
+final class Seeder {
+    private static final int CHUNK = 1000;
+
+    private Seeder() {
+    }
+
+    static List<Long> seed(ApplicationContext context, int newsCount) {
+        AuthorRepository authorRepository = context.getBean(AuthorRepository.class);
+        TagRepository tagRepository = context.getBean(TagRepository.class);
+        NewsRepository newsRepository = context.getBean(NewsRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        LocalDateTime now = LocalDateTime.now().minusDays(1);
+
+        List<AuthorModel> authors = transactionTemplate.execute(status -> {
+            List<AuthorModel> models = new ArrayList<>();
+            for (int i = 0; i < Math.max(newsCount / 10, 1); i++) {
+                AuthorModel author = new AuthorModel();
+                author.setName("Author " + i);
+                author.setCreateDate(now);
+                author.setLastUpdateDate(now);
+                models.add(author);
+            }
+            return authorRepository.saveAll(models);
+        });
+        List<TagModel> tags = transactionTemplate.execute(status -> {
+            List<TagModel> models = new ArrayList<>();
+            for (int i = 0; i < Math.max(newsCount / 5, 3); i++) {
+                TagModel tag = new TagModel();
+                tag.setName("Tag " + i);
+                tag.setCreateDate(now);
+                tag.setLastUpdateDate(now);
+                models.add(tag);
+            }
+            return tagRepository.saveAll(models);
+        });
+
+        List<Long> newsIds = new ArrayList<>(newsCount);
+        for (int from = 0; from < newsCount; from += CHUNK) {
+            int start = from;
+            int end = Math.min(from + CHUNK, newsCount);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<NewsModel> news = new ArrayList<>();
+                List<CommentModel> comments = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    NewsModel newsModel = new NewsModel();
+                    newsModel.setTitle("Title " + i);
+                    newsModel.setContent("Content of the news number " + i);
+                    newsModel.setCreateDate(now.plusSeconds(i));
+                    newsModel.setLastUpdateDate(now.plusSeconds(i));
+                    newsModel.setAuthor(authorRepository.getReferenceById(authors.get(i % authors.size()).getId()));
+                    Set<TagModel> newsTags = new HashSet<>();
+                    for (int t = 0; t < 3; t++) {
+                        newsTags.add(tagRepository.getReferenceById(tags.get((i + t) % tags.size()).getId()));
+                    }
+                    newsModel.setTags(newsTags);
+                    news.add(newsModel);
+
+                    for (int c = 0; c < 2; c++) {
+                        CommentModel comment = new CommentModel();
+                        comment.setContent("Comment " + c + " on news " + i);
+                        comment.setCreateDate(now.plusSeconds(i));
+                        comment.setLastUpdateDate(now.plusSeconds(i));
+                        comment.setNews(newsModel);
+                        comments.add(comment);
+                    }
+                }
+                newsRepository.saveAll(news).forEach(saved -> newsIds.add(saved.getId()));
+                commentRepository.saveAll(comments);
+            });
+        }
+        return newsIds;
+    }
+}
@@ -0,0 +1,129 @@
+package com.mjc.school.benchmark;
+
+import com.mjc.school.service.BaseExtendService;
+import com.mjc.school.service.BaseService;
+import com.mjc.school.service.CursorService;
+import com.mjc.school.service.cache.DtoCache;
+import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.CursorPage;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.TagDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service calls against a seeded H2 database. Each call runs in a read-only
+ * transaction, standing in for the open-session-in-view scope the web layer provides.
+ * The data volume is set with {@code -p newsCount=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+    @Param({"1000", "10000"})
+    private int newsCount;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private BaseService<NewsDTO, Long> newsService;
+    private CursorService<NewsDTO> newsCursorService;
+    private BaseExtendService<CommentDTO, Long> commentService;
+    private BaseExtendService<TagDTO, Long> tagService;
+    private DtoCache<NewsDTO> newsCache;
+    private List<Long> newsIds;
+    private Pageable page;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        newsIds = Seeder.seed(context, newsCount);
+        readOnly = new TransactionTemplate(context.getBean(TransactionTemplate.class).getTransactionManager());
+        readOnly.setReadOnly(true);
+        newsService = bean(BaseService.class, NewsDTO.class, Long.class);
+        newsCursorService = bean(CursorService.class, NewsDTO.class);
+        commentService = bean(BaseExtendService.class, CommentDTO.class, Long.class);
+        tagService = bean(BaseExtendService.class, TagDTO.class, Long.class);
+        newsCache = bean(DtoCache.class, NewsDTO.class);
+        page = PageRequest.of(newsCount / 40, 20, Sort.by(Sort.Order.asc("title"), Sort.Order.asc("id")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<NewsDTO> readAllPage() {
+        return readOnly.execute(status -> newsService.readAll(page));
+    }
+
+    @Benchmark
+    public CursorPage<NewsDTO> readFeed() {
+        return readOnly.execute(status -> call(() -> newsCursorService.readAfter(null, 20)));
+    }
+
+    @Benchmark
+    public NewsDTO readByIdCached() {
+        Long id = randomNewsId();
+        return readOnly.execute(status -> call(() -> newsService.readById(id)));
+    }
+
+    @Benchmark
+    public NewsDTO readByIdUncached() {
+        Long id = randomNewsId();
+        newsCache.evict(id);
+        return readOnly.execute(status -> call(() -> newsService.readById(id)));
+    }
+
+    @Benchmark
+    public Page<CommentDTO> readCommentsByNewsId() {
+        Long id = randomNewsId();
+        return readOnly.execute(status -> call(() -> commentService.readByNewsId(id, PageRequest.of(0, 10, Sort.by("id")))));
+    }
+
+    @Benchmark
+    public Page<TagDTO> readTagsByNewsId() {
+        Long id = randomNewsId();
+        return readOnly.execute(status -> call(() -> tagService.readByNewsId(id, PageRequest.of(0, 10, Sort.by("id")))));
+    }
+
+    private Long randomNewsId() {
+        return newsIds.get(ThreadLocalRandom.current().nextInt(newsIds.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T bean(Class<?> type, Class<?>... generics) {
+        return (T) context.getBeanProvider(ResolvableType.forClassWithGenerics(type, generics)).getObject();
+    }
+
+    private static <T> T call(CheckedCall<T> call) {
+        try {
+            return call.call();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CheckedCall<T> {
+        T call() throws Exception;
+    }
+}
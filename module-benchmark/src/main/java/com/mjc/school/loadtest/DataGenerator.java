@@ -0,0 +1,121 @@
+package com.mjc.school.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeds authors, tags, news and comments with plain JDBC batch inserts, so millions of rows load
+ * without going through the persistence context. Popularity is skewed: a few tags are on most news,
+ * a few authors write most news, and comments pile up on a small share of news items.
+ * Ids are assigned here and the Hibernate sequences are moved past them afterwards.
+ */
+public class DataGenerator {
+    private static final double SKEW = 3.0;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Random random;
+    private final LocalDateTime start = LocalDateTime.now().minusDays(365);
+
+    public DataGenerator(JdbcTemplate jdbcTemplate, int batchSize, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.random = new Random(seed);
+    }
+
+    public void generate(Sizes sizes) {
+        insertNamed("authors", "Author", sizes.authors());
+        insertNamed("tags", "Tag", sizes.tags());
+        insertNews(sizes);
+        insertComments(sizes);
+        restartSequence("author_model_seq", sizes.authors());
+        restartSequence("tag_model_seq", sizes.tags());
+        restartSequence("news_model_seq", sizes.news());
+        restartSequence("comment_model_seq", sizes.comments());
+    }
+
+    private void insertNamed(String table, String prefix, long count) {
+        String sql = "INSERT INTO " + table + " (id, name, create_date, last_update_date) VALUES (?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long id = 1; id <= count; id++) {
+            Timestamp created = timestamp();
+            batch.add(new Object[]{id, prefix + " " + id, created, created});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+    }
+
+    private void insertNews(Sizes sizes) {
+        String newsSql = "INSERT INTO news (id, title, content, create_date, last_update_date, author_id) VALUES (?, ?, ?, ?, ?, ?)";
+        String linkSql = "INSERT INTO tag_news (new_id, tag_id) VALUES (?, ?)";
+        List<Object[]> news = new ArrayList<>(batchSize);
+        List<Object[]> links = new ArrayList<>(batchSize * 3);
+        for (long id = 1; id <= sizes.news(); id++) {
+            Timestamp created = timestamp();
+            news.add(new Object[]{id, "News title " + id, "Generated content for news " + id + " " + "lorem ipsum ".repeat(1 + random.nextInt(10)),
+                    created, created, skewed(sizes.authors())});
+
+            Set<Long> tagIds = new LinkedHashSet<>();
+            int fanOut = 1 + random.nextInt(Math.max(sizes.maxTagsPerNews(), 1));
+            for (int i = 0; i < fanOut && tagIds.size() < sizes.tags(); i++) {
+                tagIds.add(skewed(sizes.tags()));
+            }
+            for (Long tagId : tagIds) {
+                links.add(new Object[]{id, tagId});
+            }
+
+            if (news.size() >= batchSize) {
+                flush(newsSql, news);
+                flush(linkSql, links);
+            }
+        }
+        flush(newsSql, news);
+        flush(linkSql, links);
+    }
+
+    private void insertComments(Sizes sizes) {
+        String sql = "INSERT INTO comments (id, content, create_date, last_update_date, news_id) VALUES (?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long id = 1; id <= sizes.comments(); id++) {
+            Timestamp created = timestamp();
+            batch.add(new Object[]{id, "Generated comment " + id, created, created, skewed(sizes.news())});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+    }
+
+    private void restartSequence(String sequence, long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 1));
+    }
+
+    /**
+     * Power-law pick in [1, count]: low ids are drawn far more often than high ones.
+     */
+    private long skewed(long count) {
+        return 1 + (long) (count * Math.pow(random.nextDouble(), SKEW));
+    }
+
+    private Timestamp timestamp() {
+        return Timestamp.valueOf(start.plusSeconds(random.nextInt(365 * 24 * 3600)));
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() >= batchSize) flush(sql, batch);
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) return;
+        jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+    }
+
+    public record Sizes(long authors, long tags, long news, long comments, int maxTagsPerNews) {
+    }
+}
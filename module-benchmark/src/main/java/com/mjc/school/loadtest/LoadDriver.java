@@ -0,0 +1,198 @@
+package com.mjc.school.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load: every worker sends its next request as soon as the previous one returns,
+ * picking the endpoint by weight from the configured mix. Latencies are kept per worker and
+ * merged once at the end, so recording never contends.
+ */
+public class LoadDriver {
+    private final String baseUrl;
+    private final int concurrency;
+    private final long newsCount;
+    private final Map<Endpoint, Integer> mix;
+    private final HttpClient client;
+
+    public LoadDriver(String baseUrl, int concurrency, long newsCount, Map<Endpoint, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.newsCount = newsCount;
+        this.mix = mix;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public Report run(Duration warmup, Duration duration) throws InterruptedException {
+        execute(warmup);
+        long started = System.nanoTime();
+        List<Samples> samples = execute(duration);
+        return new Report(samples, System.nanoTime() - started);
+    }
+
+    private List<Samples> execute(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Samples>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> work(deadline)));
+            }
+            List<Samples> samples = new ArrayList<>();
+            for (Future<Samples> future : futures) {
+                try {
+                    samples.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return samples;
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Samples work(long deadline) {
+        Samples samples = new Samples();
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            Endpoint endpoint = pick(totalWeight);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path(newsCount)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            samples.record(endpoint, System.nanoTime() - start, status);
+        }
+        return samples;
+    }
+
+    private Endpoint pick(int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) return entry.getKey();
+        }
+        throw new IllegalStateException("Empty request mix");
+    }
+
+    public enum Endpoint {
+        NEWS_PAGE {
+            @Override
+            String path(long newsCount) {
+                long pages = Math.max(newsCount / 10, 1);
+                return "/news?page=" + (1 + ThreadLocalRandom.current().nextLong(Math.min(pages, 100))) + "&limit=10";
+            }
+        },
+        NEWS_BY_ID {
+            @Override
+            String path(long newsCount) {
+                return "/news/" + randomId(newsCount);
+            }
+        },
+        COMMENTS_BY_NEWS {
+            @Override
+            String path(long newsCount) {
+                return "/comment/news/" + randomId(newsCount);
+            }
+        },
+        TAGS_BY_NEWS {
+            @Override
+            String path(long newsCount) {
+                return "/tag/news/" + randomId(newsCount);
+            }
+        };
+
+        abstract String path(long newsCount);
+
+        private static long randomId(long newsCount) {
+            return 1 + ThreadLocalRandom.current().nextLong(Math.max(newsCount, 1));
+        }
+    }
+
+    private static final class Samples {
+        private final Map<Endpoint, long[]> latencies = new LinkedHashMap<>();
+        private final Map<Endpoint, Integer> counts = new LinkedHashMap<>();
+        private final Map<Endpoint, Integer> errors = new LinkedHashMap<>();
+
+        void record(Endpoint endpoint, long nanos, int status) {
+            int count = counts.merge(endpoint, 1, Integer::sum);
+            long[] values = latencies.computeIfAbsent(endpoint, key -> new long[1024]);
+            if (count > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+                latencies.put(endpoint, values);
+            }
+            values[count - 1] = nanos;
+            if (status < 0 || status >= 500) errors.merge(endpoint, 1, Integer::sum);
+        }
+    }
+
+    public static final class Report {
+        private final Map<Endpoint, long[]> latencies = new LinkedHashMap<>();
+        private final Map<Endpoint, Integer> errors = new LinkedHashMap<>();
+        private final long elapsedNanos;
+
+        private Report(List<Samples> samples, long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            for (Endpoint endpoint : Endpoint.values()) {
+                long[] merged = samples.stream()
+                        .filter(sample -> sample.counts.containsKey(endpoint))
+                        .flatMapToLong(sample -> Arrays.stream(sample.latencies.get(endpoint), 0, sample.counts.get(endpoint)))
+                        .sorted()
+                        .toArray();
+                if (merged.length == 0) continue;
+                latencies.put(endpoint, merged);
+                errors.put(endpoint, samples.stream().mapToInt(sample -> sample.errors.getOrDefault(endpoint, 0)).sum());
+            }
+        }
+
+        public void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            long total = latencies.values().stream().mapToLong(values -> values.length).sum();
+            out.printf("%-18s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Map.Entry<Endpoint, long[]> entry : latencies.entrySet()) {
+                long[] values = entry.getValue();
+                out.printf("%-18s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        entry.getKey(), values.length, errors.get(entry.getKey()), values.length / seconds,
+                        millis(values, 0.50), millis(values, 0.90), millis(values, 0.99), millis(values, 0.999),
+                        values[values.length - 1] / 1e6);
+            }
+            out.printf("total: %d requests in %.1f s, %.1f req/s%n", total, seconds, total / seconds);
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.mjc.school.loadtest;
+
+import com.mjc.school.main.app.StartApp;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the application on an embedded H2 database, seeds it and replays a request mix against it.
+ * All options are {@code --name=value}:
+ * <ul>
+ *     <li>authors, tags, news, comments, max-tags-per-news, batch-size, seed - data volume</li>
+ *     <li>concurrency, warmup-seconds, duration-seconds - load shape</li>
+ *     <li>mix - weights, e.g. {@code NEWS_PAGE:40,NEWS_BY_ID:30,COMMENTS_BY_NEWS:20,TAGS_BY_NEWS:10}</li>
+ *     <li>target - base url of an already running app; skips the embedded app and seeding</li>
+ *     <li>replica - true routes read-only transactions to a second embedded database that is seeded
+ *     as a copy of the first one; writes made during the run never reach it</li>
+ * </ul>
+ */
+public class LoadTest {
+    private static final String EMBEDDED_OPTIONS = ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final String EMBEDDED_URL = "jdbc:h2:mem:loadtest" + EMBEDDED_OPTIONS;
+    private static final String REPLICA_URL = "jdbc:h2:mem:loadtest-replica" + EMBEDDED_OPTIONS;
+    private static final String[] EMBEDDED = {
+            "--server.port=0",
+            "--spring.datasource.url=" + EMBEDDED_URL,
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.flyway.enabled=false",
+            "--service.retention.comment.cron=-",
+            "--sql.statement-budget.mode=OFF"
+    };
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        long news = Long.parseLong(options.getOrDefault("news", "100000"));
+        ConfigurableApplicationContext context = null;
+        String target = options.get("target");
+        try {
+            if (target == null) {
+                boolean replica = Boolean.parseBoolean(options.get("replica"));
+                context = SpringApplication.run(StartApp.class, embedded(replica));
+                target = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+                DataGenerator.Sizes sizes = new DataGenerator.Sizes(
+                        Long.parseLong(options.getOrDefault("authors", String.valueOf(Math.max(news / 50, 1)))),
+                        Long.parseLong(options.getOrDefault("tags", String.valueOf(Math.max(news / 100, 10)))),
+                        news,
+                        Long.parseLong(options.getOrDefault("comments", String.valueOf(news * 5))),
+                        Integer.parseInt(options.getOrDefault("max-tags-per-news", "5")));
+                long started = System.nanoTime();
+                new DataGenerator(context.getBean(JdbcTemplate.class),
+                        Integer.parseInt(options.getOrDefault("batch-size", "1000")),
+                        Long.parseLong(options.getOrDefault("seed", "42"))).generate(sizes);
+                System.out.printf("seeded %s in %.1f s%n", sizes, (System.nanoTime() - started) / 1e9);
+                if (replica) copyToReplica(context.getBean(JdbcTemplate.class));
+            }
+
+            LoadDriver driver = new LoadDriver(target,
+                    Integer.parseInt(options.getOrDefault("concurrency", "32")),
+                    news,
+                    mix(options.getOrDefault("mix", "NEWS_PAGE:40,NEWS_BY_ID:30,COMMENTS_BY_NEWS:20,TAGS_BY_NEWS:10")));
+            driver.run(Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10"))),
+                            Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "60"))))
+                    .print(System.out);
+        } finally {
+            if (context != null) context.close();
+        }
+    }
+
+    private static String[] embedded(boolean replica) {
+        if (!replica) return EMBEDDED;
+        List<String> args = new ArrayList<>(Arrays.asList(EMBEDDED));
+        args.add("--repository.datasource.replica.enabled=true");
+        args.add("--repository.datasource.replica.urls=" + REPLICA_URL);
+        return args.toArray(String[]::new);
+    }
+
+    // H2 has no replication, so the replica gets a one-off copy of the seeded primary
+    private static void copyToReplica(JdbcTemplate primary) {
+        try {
+            Path script = Files.createTempFile("loadtest-replica", ".sql");
+            try {
+                primary.execute("SCRIPT TO '" + script + "'");
+                try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+                     Statement statement = connection.createStatement()) {
+                    statement.execute("RUNSCRIPT FROM '" + script + "'");
+                }
+            } finally {
+                Files.deleteIfExists(script);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not copy the seeded database to the replica", e);
+        }
+    }
+
+    private static Map<LoadDriver.Endpoint, Integer> mix(String value) {
+        Map<LoadDriver.Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(LoadDriver.Endpoint.valueOf(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,35 @@
+package com.mjc.school.main.app.metrics;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+public class StatementBudgetProperties {
+    public enum Mode { OFF, LOG, FAIL }
+
+    /**
+     * Statements allowed per request, 0 disables the budget.
+     */
+    @Value("${sql.statement-budget.limit:20}")
+    private int limit;
+
+    /**
+     * LOG warns after the request, FAIL aborts the statement that crosses the budget.
+     */
+    @Value("${sql.statement-budget.mode:LOG}")
+    private Mode mode;
+
+    /**
+     * Identical statements repeated this many times in one request are reported as a likely N+1.
+     */
+    @Value("${sql.statement-budget.repeat-threshold:3}")
+    private int repeatThreshold;
+
+    /**
+     * Adds X-SQL-Statement-Count to responses; keep it off in production.
+     */
+    @Value("${sql.statement-budget.header:false}")
+    private boolean header;
+}
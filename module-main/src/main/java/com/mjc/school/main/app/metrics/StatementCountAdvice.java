@@ -0,0 +1,36 @@
+package com.mjc.school.main.app.metrics;
+
+import com.mjc.school.repository.metrics.StatementCounter;
+import com.mjc.school.repository.metrics.StatementStats;
+import lombok.AllArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sets the statement count header on responses with a body, which are committed before
+ * {@link StatementCountFilter} gets control back.
+ */
+@ControllerAdvice
+@AllArgsConstructor
+public class StatementCountAdvice implements ResponseBodyAdvice<Object> {
+    private StatementBudgetProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isHeader();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        StatementStats stats = StatementCounter.current();
+        if (stats != null) response.getHeaders().set(StatementCountFilter.HEADER, String.valueOf(stats.getCount()));
+        return body;
+    }
+}
@@ -0,0 +1,68 @@
+package com.mjc.school.main.app.metrics;
+
+import com.mjc.school.repository.metrics.StatementCounter;
+import com.mjc.school.repository.metrics.StatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records how many SQL statements each request ran as {@code http.server.requests.statements},
+ * tagged like {@code http.server.requests} so N+1 regressions show up per endpoint, and checks
+ * the request against the statement budget.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private MeterRegistry registry;
+    private StatementBudgetProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementBudgetProperties.Mode mode = properties.getMode();
+        StatementCounter.start(new StatementStats(mode == StatementBudgetProperties.Mode.OFF ? 0 : properties.getLimit(),
+                mode == StatementBudgetProperties.Mode.FAIL));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementStats stats = StatementCounter.stop();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (uri == null ? request.getRequestURI() : uri);
+            DistributionSummary.builder("http.server.requests.statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(stats.getCount());
+
+            if (properties.isHeader() && !response.isCommitted()) {
+                response.setHeader(HEADER, String.valueOf(stats.getCount()));
+            }
+            if (mode != StatementBudgetProperties.Mode.OFF) report(endpoint, stats);
+        }
+    }
+
+    private void report(String endpoint, StatementStats stats) {
+        if (stats.isOverBudget()) {
+            log.warn("{} ran {} SQL statements, budget is {}", endpoint, stats.getCount(), stats.getBudget());
+        }
+        for (Map.Entry<String, Integer> repeated : stats.repeated(properties.getRepeatThreshold()).entrySet()) {
+            log.warn("{} repeated a statement {} times, possible N+1: {}", endpoint, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mjc.school.main.app.routing;
+
+import com.mjc.school.repository.routing.ReplicaRoutingDataSource;
+import com.mjc.school.service.cache.CacheBypass;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Carries the read-your-writes pin set by {@link ReadYourWritesFilter} beyond the request thread: to
+ * the reactive database scheduler, to the MVC task executor that writes streamed exports, and to the
+ * DTO caches, which skip cached values for pinned reads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "repository.datasource.replica.enabled", havingValue = "true")
+public class PrimaryPinConfig {
+    private static final String SCHEDULE_HOOK = "primary-pin";
+
+    @Bean
+    public CacheBypass dtoCacheBypass() {
+        return ReplicaRoutingDataSource::isPrimaryPinned;
+    }
+
+    @Bean
+    public TaskDecorator primaryPinTaskDecorator() {
+        return PrimaryPinConfig::propagate;
+    }
+
+    @PostConstruct
+    public void registerScheduleHook() {
+        Schedulers.onScheduleHook(SCHEDULE_HOOK, PrimaryPinConfig::propagate);
+    }
+
+    @PreDestroy
+    public void removeScheduleHook() {
+        Schedulers.resetOnScheduleHook(SCHEDULE_HOOK);
+    }
+
+    private static Runnable propagate(Runnable task) {
+        if (!ReplicaRoutingDataSource.isPrimaryPinned()) return task;
+        return () -> {
+            // a task run inline on the pinned thread must not drop that thread's pin
+            boolean pinned = ReplicaRoutingDataSource.isPrimaryPinned();
+            ReplicaRoutingDataSource.pinPrimary();
+            try {
+                task.run();
+            } finally {
+                if (!pinned) ReplicaRoutingDataSource.unpin();
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.mjc.school.main.app.metrics;
+
+import com.mjc.school.repository.metrics.StatementCounter;
+import com.mjc.school.repository.metrics.StatementStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StatementCountFilterTest {
+    private static final StatementCounter INSPECTOR = new StatementCounter();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        StatementBudgetProperties properties = new StatementBudgetProperties();
+        ReflectionTestUtils.setField(properties, "limit", 20);
+        ReflectionTestUtils.setField(properties, "mode", StatementBudgetProperties.Mode.LOG);
+        ReflectionTestUtils.setField(properties, "repeatThreshold", 3);
+        ReflectionTestUtils.setField(properties, "header", true);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new QueryController())
+                .setControllerAdvice(new StatementCountAdvice(properties))
+                .addFilters(new StatementCountFilter(new SimpleMeterRegistry(), properties))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        while (StatementCounter.current() != null) StatementCounter.stop();
+    }
+
+    @Test
+    void countsStatementsOfARequestWrappedByTheTest() throws Exception {
+        StatementCounter.start();
+        mockMvc.perform(get("/query"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(StatementCountFilter.HEADER, "2"));
+        StatementStats stats = StatementCounter.stop();
+
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(StatementCounter.current()).isNull();
+    }
+
+    @Test
+    void nestedStartJoinsTheEnclosingStats() {
+        StatementCounter.start();
+        INSPECTOR.inspect("select 1");
+
+        StatementCounter.start(new StatementStats(1, true));
+        INSPECTOR.inspect("select 2");
+        StatementStats inner = StatementCounter.stop();
+
+        INSPECTOR.inspect("select 3");
+        StatementStats outer = StatementCounter.stop();
+
+        assertThat(inner).isSameAs(outer);
+        assertThat(outer.getCount()).isEqualTo(3);
+        assertThat(StatementCounter.current()).isNull();
+    }
+
+    @RestController
+    static class QueryController {
+        @GetMapping("/query")
+        String query() {
+            INSPECTOR.inspect("select * from news where id = ?");
+            INSPECTOR.inspect("select * from authors where id = ?");
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mjc.school.repository.function;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code fts(column, text)} so criteria queries can use PostgreSQL full-text search.
+ * The tsvector expression matches the GIN indexes in the V1 migration, keep both in sync.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+    public static final String FTS = "fts";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                FTS,
+                "(to_tsvector('english', ?1) @@ plainto_tsquery('english', ?2))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
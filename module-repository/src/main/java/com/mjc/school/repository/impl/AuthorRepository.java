@@ -1,15 +1,33 @@
 package com.mjc.school.repository.impl;
 
 import com.mjc.school.repository.model.AuthorModel;
+import com.mjc.school.repository.projection.LinkedVersionView;
+import com.mjc.school.repository.projection.NameView;
+import com.mjc.school.repository.projection.VersionView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Collection;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<AuthorModel, Long> {
-    @Query("SELECT a FROM AuthorModel a join a.news n where n.id = :newsId")
-    List<AuthorModel> findAuthorByNewsId(@Param("newsId") Long newsId);
+    @Query(value = "SELECT a.id AS id, a.name AS name FROM AuthorModel a WHERE a.id = (SELECT n.author.id FROM NewsModel n WHERE n.id = :newsId)",
+            countQuery = "SELECT COUNT(a) FROM AuthorModel a WHERE a.id = (SELECT n.author.id FROM NewsModel n WHERE n.id = :newsId)")
+    Page<NameView> findNamesByNewsId(@Param("newsId") Long newsId, Pageable pageable);
+
+    @Query("SELECT COUNT(n) AS count, MAX(a.lastUpdateDate) AS lastUpdateDate, SUM(n.id) AS linkedIdSum, MAX(n.lastUpdateDate) AS linkedLastUpdateDate " +
+            "FROM AuthorModel a LEFT JOIN a.news n WHERE a.id = :id GROUP BY a.id")
+    LinkedVersionView findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(a) AS count, MAX(a.lastUpdateDate) AS lastUpdateDate FROM AuthorModel a")
+    VersionView findVersion();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM AuthorModel a WHERE a.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,15 +1,70 @@
 package com.mjc.school.repository.impl;
 
 import com.mjc.school.repository.model.CommentModel;
+import com.mjc.school.repository.projection.CommentView;
+import com.mjc.school.repository.projection.KeyView;
+import com.mjc.school.repository.projection.VersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<CommentModel, Long> {
-    @Query("SELECT c FROM CommentModel c join c.news n where n.id = :newsId")
-    List<CommentModel> findCommentByNewsId(@Param("newsId") Long newsId);
+    @Query(value = "SELECT c.content AS content, c.news.id AS newsId FROM CommentModel c WHERE c.news.id = :newsId",
+            countQuery = "SELECT COUNT(c) FROM CommentModel c WHERE c.news.id = :newsId")
+    Page<CommentView> findViewsByNewsId(@Param("newsId") Long newsId, Pageable pageable);
+
+    @Query("SELECT c FROM CommentModel c ORDER BY c.createDate, c.id")
+    List<CommentModel> findFeed(Pageable pageable);
+
+    @Query("SELECT c FROM CommentModel c WHERE (c.createDate, c.id) > (:createDate, :id) ORDER BY c.createDate, c.id")
+    List<CommentModel> findFeedAfter(@Param("createDate") LocalDateTime createDate, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT COUNT(c) AS count, MAX(c.lastUpdateDate) AS lastUpdateDate FROM CommentModel c WHERE c.id = :id GROUP BY c.id")
+    VersionView findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(c) AS count, MAX(c.lastUpdateDate) AS lastUpdateDate FROM CommentModel c")
+    VersionView findVersion();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT c FROM CommentModel c ORDER BY c.id")
+    Stream<CommentModel> streamAll();
+
+    @Query("SELECT c.id FROM CommentModel c WHERE c.news.id IN :newsIds")
+    List<Long> findIdsByNewsIdIn(@Param("newsIds") Collection<Long> newsIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CommentModel c WHERE c.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CommentModel c WHERE c.news.id IN :newsIds")
+    int deleteAllByNewsIdIn(@Param("newsIds") Collection<Long> newsIds);
+
+    @Query("SELECT COUNT(c) FROM CommentModel c WHERE c.createDate < :before")
+    long countCreatedBefore(@Param("before") LocalDateTime before);
+
+    @Query("SELECT c.id AS id, c.createDate AS createDate FROM CommentModel c WHERE c.createDate < :before ORDER BY c.createDate, c.id")
+    List<KeyView> findKeysCreatedBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Query("SELECT c.id AS id, c.createDate AS createDate FROM CommentModel c " +
+            "WHERE c.createDate < :before AND (c.createDate, c.id) > (:createDate, :id) ORDER BY c.createDate, c.id")
+    List<KeyView> findKeysCreatedBeforeAfter(@Param("before") LocalDateTime before, @Param("createDate") LocalDateTime createDate,
+                                             @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,56 @@
+package com.mjc.school.repository.impl;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads (id, linked id) pairs over plain JDBC and hands them to the caller as primitives, so grouping
+ * them into id sets boxes nothing per row. Runs on the connection of the surrounding JPA transaction.
+ */
+@Repository
+@AllArgsConstructor
+public class IdLinkRepository {
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void forEachTagLink(Collection<Long> newsIds, LinkConsumer consumer) {
+        query("SELECT tn.new_id, tn.tag_id FROM tag_news tn WHERE tn.new_id IN (:ids)", newsIds, consumer);
+    }
+
+    /**
+     * Reads at most {@code limitPerId} news per tag, the ones with the lowest ids.
+     */
+    public void forEachTagNewsLink(Collection<Long> tagIds, int limitPerId, LinkConsumer consumer) {
+        query("SELECT tag_id, new_id FROM (SELECT tn.tag_id, tn.new_id, ROW_NUMBER() OVER (PARTITION BY tn.tag_id ORDER BY tn.new_id) AS rn " +
+                "FROM tag_news tn WHERE tn.tag_id IN (:ids)) ranked WHERE rn <= :limit", tagIds, limitPerId, consumer);
+    }
+
+    /**
+     * Reads at most {@code limitPerId} news per author, the ones with the lowest ids.
+     */
+    public void forEachAuthorNewsLink(Collection<Long> authorIds, int limitPerId, LinkConsumer consumer) {
+        query("SELECT author_id, id FROM (SELECT n.author_id, n.id, ROW_NUMBER() OVER (PARTITION BY n.author_id ORDER BY n.id) AS rn " +
+                "FROM news n WHERE n.author_id IN (:ids)) ranked WHERE rn <= :limit", authorIds, limitPerId, consumer);
+    }
+
+    private void query(String sql, Collection<Long> ids, LinkConsumer consumer) {
+        query(sql, ids, Map.of("ids", ids), consumer);
+    }
+
+    private void query(String sql, Collection<Long> ids, int limit, LinkConsumer consumer) {
+        query(sql, ids, Map.of("ids", ids, "limit", limit), consumer);
+    }
+
+    private void query(String sql, Collection<Long> ids, Map<String, ?> parameters, LinkConsumer consumer) {
+        if (ids.isEmpty()) return;
+        jdbcTemplate.query(sql, parameters, resultSet -> consumer.accept(resultSet.getLong(1), resultSet.getLong(2)));
+    }
+
+    @FunctionalInterface
+    public interface LinkConsumer {
+        void accept(long id, long linkedId);
+    }
+}
@@ -1,10 +1,65 @@
 package com.mjc.school.repository.impl;
 
 import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.repository.projection.LinkedVersionView;
+import com.mjc.school.repository.projection.VersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface NewsRepository extends JpaRepository<NewsModel, Long> {
+public interface NewsRepository extends JpaRepository<NewsModel, Long>, JpaSpecificationExecutor<NewsModel> {
+    @Query("SELECT n FROM NewsModel n ORDER BY n.createDate, n.id")
+    List<NewsModel> findFeed(Pageable pageable);
+
+    @Query("SELECT n FROM NewsModel n WHERE (n.createDate, n.id) > (:createDate, :id) ORDER BY n.createDate, n.id")
+    List<NewsModel> findFeedAfter(@Param("createDate") LocalDateTime createDate, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT COUNT(t) AS count, MAX(n.lastUpdateDate) AS lastUpdateDate, SUM(t.id) AS linkedIdSum, MAX(t.lastUpdateDate) AS linkedLastUpdateDate " +
+            "FROM NewsModel n LEFT JOIN n.tags t WHERE n.id = :id GROUP BY n.id")
+    LinkedVersionView findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(n) AS count, MAX(n.lastUpdateDate) AS lastUpdateDate FROM NewsModel n")
+    VersionView findVersion();
+
+    @Query("SELECT n.id FROM NewsModel n WHERE n.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT n FROM NewsModel n ORDER BY n.id")
+    Stream<NewsModel> streamAll();
+
+    @Query("SELECT n.id FROM NewsModel n WHERE n.author.id IN :authorIds")
+    List<Long> findIdsByAuthorIdIn(@Param("authorIds") Collection<Long> authorIds);
+
+    @Query("SELECT DISTINCT n.author.id FROM NewsModel n WHERE n.id IN :ids")
+    List<Long> findAuthorIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT DISTINCT tag_id FROM tag_news WHERE new_id IN (:newsIds)", nativeQuery = true)
+    List<Long> findTagIdsByIdIn(@Param("newsIds") Collection<Long> newsIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag_news"))
+    @Query(value = "DELETE FROM tag_news WHERE new_id IN (:newsIds)", nativeQuery = true)
+    int deleteTagLinksByNewsIdIn(@Param("newsIds") Collection<Long> newsIds);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM NewsModel n WHERE n.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,15 +1,52 @@
 package com.mjc.school.repository.impl;
 
 import com.mjc.school.repository.model.TagModel;
+import com.mjc.school.repository.projection.LinkedVersionView;
+import com.mjc.school.repository.projection.NameView;
+import com.mjc.school.repository.projection.VersionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TagRepository extends JpaRepository<TagModel, Long> {
-    @Query("SELECT t FROM TagModel t join t.news n where n.id = :newsId")
-    List<TagModel> findTagByNewsId(@Param("newsId") Long newsId);
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TagModel> findAllById(Iterable<Long> ids);
+
+    @Query(value = "SELECT t.id AS id, t.name AS name FROM TagModel t WHERE t.id IN (SELECT nt.id FROM NewsModel n JOIN n.tags nt WHERE n.id = :newsId)",
+            countQuery = "SELECT COUNT(t) FROM TagModel t WHERE t.id IN (SELECT nt.id FROM NewsModel n JOIN n.tags nt WHERE n.id = :newsId)")
+    Page<NameView> findNamesByNewsId(@Param("newsId") Long newsId, Pageable pageable);
+
+    @Query("SELECT COUNT(n) AS count, MAX(t.lastUpdateDate) AS lastUpdateDate, SUM(n.id) AS linkedIdSum, MAX(n.lastUpdateDate) AS linkedLastUpdateDate " +
+            "FROM TagModel t LEFT JOIN t.news n WHERE t.id = :id GROUP BY t.id")
+    LinkedVersionView findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(t) AS count, MAX(t.lastUpdateDate) AS lastUpdateDate FROM TagModel t")
+    VersionView findVersion();
+
+    @Query("SELECT t.name FROM TagModel t WHERE t.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Query(value = "SELECT DISTINCT new_id FROM tag_news WHERE tag_id IN (:tagIds)", nativeQuery = true)
+    List<Long> findNewsIdsByIdIn(@Param("tagIds") Collection<Long> tagIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag_news"))
+    @Query(value = "DELETE FROM tag_news WHERE tag_id IN (:tagIds)", nativeQuery = true)
+    int deleteNewsLinksByTagIdIn(@Param("tagIds") Collection<Long> tagIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TagModel t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,7 @@
+package com.mjc.school.repository.metrics;
+
+public class StatementBudgetExceededException extends RuntimeException {
+    public StatementBudgetExceededException(int count, int budget, String sql) {
+        super("Statement budget of " + budget + " exceeded with statement " + count + ": " + sql);
+    }
+}
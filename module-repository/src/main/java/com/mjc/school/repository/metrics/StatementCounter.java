@@ -0,0 +1,54 @@
+package com.mjc.school.repository.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Collects {@link StatementStats} for SQL prepared on the current thread between {@link #start}
+ * and {@link #stop()}. Threads that never called start (schedulers, async exports) are not tracked.
+ * <p>
+ * Calls nest: a start inside an active scope joins the enclosing stats, and only the outermost
+ * stop ends collection. Tests can therefore call start/stop around a MockMvc request, which the
+ * request filter wraps in its own start/stop, and still read the request's statement count.
+ */
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    public static void start() {
+        start(new StatementStats(0, false));
+    }
+
+    public static void start(StatementStats stats) {
+        Scope scope = SCOPE.get();
+        if (scope == null) SCOPE.set(new Scope(stats));
+        else scope.depth++;
+    }
+
+    public static StatementStats current() {
+        Scope scope = SCOPE.get();
+        return scope == null ? null : scope.stats;
+    }
+
+    public static StatementStats stop() {
+        Scope scope = SCOPE.get();
+        if (scope == null) return new StatementStats(0, false);
+        if (scope.depth == 0) SCOPE.remove();
+        else scope.depth--;
+        return scope.stats;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = SCOPE.get();
+        if (scope != null) scope.stats.record(sql);
+        return sql;
+    }
+
+    private static final class Scope {
+        private final StatementStats stats;
+        private int depth;
+
+        private Scope(StatementStats stats) {
+            this.stats = stats;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.mjc.school.repository.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statements prepared during one request. Prepared SQL keeps parameters as placeholders, so
+ * queries that differ only by parameter values share an entry in {@link #repeated(int)}.
+ */
+public class StatementStats {
+    private final int budget;
+    private final boolean failOnExceed;
+    private final Map<String, Integer> occurrences = new HashMap<>();
+    private int count;
+
+    public StatementStats(int budget, boolean failOnExceed) {
+        this.budget = budget;
+        this.failOnExceed = failOnExceed;
+    }
+
+    void record(String sql) {
+        count++;
+        occurrences.merge(sql, 1, Integer::sum);
+        if (failOnExceed && isOverBudget()) {
+            throw new StatementBudgetExceededException(count, budget, sql);
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public boolean isOverBudget() {
+        return budget > 0 && count > budget;
+    }
+
+    public Map<String, Integer> repeated(int threshold) {
+        return occurrences.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
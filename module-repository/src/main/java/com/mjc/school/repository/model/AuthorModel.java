@@ -2,6 +2,11 @@ package com.mjc.school.repository.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -10,15 +15,22 @@ import java.util.Set;
 @Data
 @Table(name = "authors")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
+@NamedEntityGraph(name = "AuthorModel.news", attributeNodes = @NamedAttributeNode("news"))
 public class AuthorModel implements BaseEntity<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_model_seq")
+    @SequenceGenerator(name = "author_model_seq", sequenceName = "author_model_seq", allocationSize = 50)
     private Long id;
     private String name;
     private LocalDateTime createDate;
     private LocalDateTime lastUpdateDate;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @BatchSize(size = 50)
     @OneToMany(mappedBy = "author")
     private Set<NewsModel> news = new HashSet<>();
 }
@@ -2,6 +2,8 @@ package com.mjc.school.repository.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -10,13 +12,16 @@ import java.time.LocalDateTime;
 @Entity
 public class CommentModel implements BaseEntity<Long>{
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_model_seq")
+    @SequenceGenerator(name = "comment_model_seq", sequenceName = "comment_model_seq", allocationSize = 50)
     private Long id;
     private String content;
     private LocalDateTime createDate;
     private LocalDateTime lastUpdateDate;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = {CascadeType.MERGE, CascadeType.PERSIST})
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.MERGE, CascadeType.PERSIST})
     @JoinColumn(name = "newsId")
     private NewsModel news;
 }
@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -15,10 +18,12 @@ import java.util.Set;
 @Data
 @Table(name = "news")
 @Entity
+@NamedEntityGraph(name = "NewsModel.tags", attributeNodes = @NamedAttributeNode("tags"))
 public class NewsModel implements BaseEntity<Long>{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_model_seq")
+    @SequenceGenerator(name = "news_model_seq", sequenceName = "news_model_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -26,16 +31,23 @@ public class NewsModel implements BaseEntity<Long>{
     private LocalDateTime createDate;
     private LocalDateTime lastUpdateDate;
 
-    @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.REMOVE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "authorId")
     private AuthorModel author;
 
-    @ManyToMany(cascade = {CascadeType.MERGE, CascadeType.PERSIST}, fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @BatchSize(size = 50)
+    @ManyToMany(cascade = {CascadeType.MERGE, CascadeType.PERSIST}, fetch = FetchType.LAZY)
     @JoinTable(name = "tag_news",
     joinColumns = @JoinColumn(name = "newId"),
     inverseJoinColumns = @JoinColumn(name = "tagId"))
     private Set<TagModel> tags = new HashSet<>();
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "news")
     private List<CommentModel> comments = new ArrayList<>();
 }
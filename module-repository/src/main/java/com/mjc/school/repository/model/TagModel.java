@@ -2,6 +2,11 @@ package com.mjc.school.repository.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -10,16 +15,23 @@ import java.util.Set;
 @Data
 @Table(name = "tags")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tags")
+@NamedEntityGraph(name = "TagModel.news", attributeNodes = @NamedAttributeNode("news"))
 public class TagModel implements BaseEntity<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tag_model_seq")
+    @SequenceGenerator(name = "tag_model_seq", sequenceName = "tag_model_seq", allocationSize = 50)
     private Long id;
 
     private String name;
     private LocalDateTime createDate;
     private LocalDateTime lastUpdateDate;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @BatchSize(size = 50)
     @ManyToMany(mappedBy = "tags")
     private Set<NewsModel> news = new HashSet<>();
 }
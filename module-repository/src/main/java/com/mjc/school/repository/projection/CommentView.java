@@ -0,0 +1,7 @@
+package com.mjc.school.repository.projection;
+
+public interface CommentView {
+    String getContent();
+
+    Long getNewsId();
+}
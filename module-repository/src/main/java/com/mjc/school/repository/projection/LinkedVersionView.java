@@ -0,0 +1,9 @@
+package com.mjc.school.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface LinkedVersionView extends VersionView {
+    Long getLinkedIdSum();
+
+    LocalDateTime getLinkedLastUpdateDate();
+}
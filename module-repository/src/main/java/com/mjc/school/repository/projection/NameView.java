@@ -0,0 +1,7 @@
+package com.mjc.school.repository.projection;
+
+public interface NameView {
+    Long getId();
+
+    String getName();
+}
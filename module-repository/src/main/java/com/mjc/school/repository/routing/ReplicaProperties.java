@@ -0,0 +1,45 @@
+package com.mjc.school.repository.routing;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Getter
+@Component
+public class ReplicaProperties {
+    /**
+     * Comma separated JDBC urls, one pool per replica.
+     */
+    @Value("${repository.datasource.replica.urls:}")
+    private List<String> urls;
+
+    @Value("${repository.datasource.replica.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${repository.datasource.replica.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${repository.datasource.replica.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    /**
+     * How long a read waits for a replica connection before trying the next replica.
+     */
+    @Value("${repository.datasource.replica.connection-timeout-millis:1000}")
+    private long connectionTimeoutMillis;
+
+    /**
+     * A replica that failed to hand out a connection is skipped for this long.
+     */
+    @Value("${repository.datasource.replica.retry-millis:30000}")
+    private long retryMillis;
+
+    /**
+     * After a write, reads from the same client go to the primary for this long, so replication lag
+     * never hides the client's own changes.
+     */
+    @Value("${repository.datasource.read-your-writes-millis:5000}")
+    private long readYourWritesMillis;
+}
@@ -0,0 +1,106 @@
+package com.mjc.school.repository.routing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hands out connections for read-only transactions. Replicas are taken round robin; one that fails to
+ * give a connection is skipped for the retry period. When no replica is usable, or the current thread
+ * is pinned for read-your-writes, the primary serves the read.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean, MeterBinder {
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long retryMillis;
+    private final AtomicLongArray skipUntil;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong replicaConnections = new AtomicLong();
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long retryMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.retryMillis = retryMillis;
+        this.skipUntil = new AtomicLongArray(replicas.size());
+    }
+
+    public static void pinPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PRIMARY_PINNED.remove();
+    }
+
+    public static boolean isPrimaryPinned() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (!isPrimaryPinned() && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = (start + i) % replicas.size();
+                if (skipUntil.get(index) > System.currentTimeMillis()) continue;
+                try {
+                    Connection connection = source.get(replicas.get(index));
+                    replicaConnections.incrementAndGet();
+                    return connection;
+                } catch (SQLException e) {
+                    skipUntil.set(index, System.currentTimeMillis() + retryMillis);
+                    log.warn("Replica {} unavailable, skipping it for {} ms: {}", index, retryMillis, e.getMessage());
+                }
+            }
+            fallbacks.incrementAndGet();
+        }
+        primaryConnections.incrementAndGet();
+        return source.get(primary);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("datasource.routing.connections", replicaConnections, AtomicLong::get)
+                .tag("target", "replica").register(registry);
+        FunctionCounter.builder("datasource.routing.connections", primaryConnections, AtomicLong::get)
+                .tag("target", "primary").register(registry);
+        FunctionCounter.builder("datasource.routing.fallbacks", fallbacks, AtomicLong::get).register(registry);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) closeable.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+}
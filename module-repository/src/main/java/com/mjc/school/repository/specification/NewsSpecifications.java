@@ -0,0 +1,65 @@
+package com.mjc.school.repository.specification;
+
+import com.mjc.school.repository.function.FullTextFunctionContributor;
+import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.repository.model.TagModel;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Search criteria for news. Every factory returns {@code null} for an empty criterion,
+ * so the results can be chained with {@link Specification#and} unconditionally.
+ */
+public final class NewsSpecifications {
+    private NewsSpecifications() {
+    }
+
+    public static Specification<NewsModel> titleMatches(String text) {
+        return fullText("title", text);
+    }
+
+    public static Specification<NewsModel> contentMatches(String text) {
+        return fullText("content", text);
+    }
+
+    public static Specification<NewsModel> authorNameEquals(String name) {
+        if (name == null || name.isBlank()) return null;
+        return (root, query, cb) -> cb.equal(root.get("author").get("name"), name.trim());
+    }
+
+    public static Specification<NewsModel> authorIdEquals(Long id) {
+        if (id == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("author").get("id"), id);
+    }
+
+    public static Specification<NewsModel> hasAnyTagId(Collection<Long> ids) {
+        return hasAnyTag("id", ids);
+    }
+
+    public static Specification<NewsModel> hasAnyTagName(Collection<String> names) {
+        return hasAnyTag("name", names);
+    }
+
+    private static Specification<NewsModel> fullText(String attribute, String text) {
+        if (text == null || text.isBlank()) return null;
+        return (root, query, cb) -> cb.isTrue(cb.function(FullTextFunctionContributor.FTS, Boolean.class,
+                root.get(attribute), cb.literal(text.trim())));
+    }
+
+    // EXISTS instead of a join keeps one row per news, so paging and counting stay in the database
+    private static Specification<NewsModel> hasAnyTag(String attribute, Collection<?> values) {
+        if (values == null || values.isEmpty()) return null;
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<NewsModel> tagged = subquery.from(NewsModel.class);
+            Join<NewsModel, TagModel> tag = tagged.join("tags");
+            subquery.select(tagged.get("id"))
+                    .where(cb.equal(tagged.get("id"), root.get("id")), tag.get(attribute).in(values));
+            return cb.exists(subquery);
+        };
+    }
+}
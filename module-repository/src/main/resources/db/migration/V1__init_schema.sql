@@ -0,0 +1,70 @@
+-- Baseline of the schema Hibernate used to generate with ddl-auto=update.
+-- Every statement is idempotent, so databases created that way are migrated in place
+-- (spring.flyway.baseline-on-migrate with baseline version 0).
+
+CREATE SEQUENCE IF NOT EXISTS author_model_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tag_model_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS news_model_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comment_model_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS authors
+(
+    id               BIGINT NOT NULL PRIMARY KEY,
+    name             VARCHAR(255),
+    create_date      TIMESTAMP(6),
+    last_update_date TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS tags
+(
+    id               BIGINT NOT NULL PRIMARY KEY,
+    name             VARCHAR(255),
+    create_date      TIMESTAMP(6),
+    last_update_date TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS news
+(
+    id               BIGINT NOT NULL PRIMARY KEY,
+    title            VARCHAR(255),
+    content          VARCHAR(255),
+    create_date      TIMESTAMP(6),
+    last_update_date TIMESTAMP(6),
+    author_id        BIGINT REFERENCES authors (id)
+);
+
+CREATE TABLE IF NOT EXISTS tag_news
+(
+    new_id BIGINT NOT NULL REFERENCES news (id),
+    tag_id BIGINT NOT NULL REFERENCES tags (id),
+    PRIMARY KEY (new_id, tag_id)
+);
+
+CREATE TABLE IF NOT EXISTS comments
+(
+    id               BIGINT NOT NULL PRIMARY KEY,
+    content          VARCHAR(255),
+    create_date      TIMESTAMP(6),
+    last_update_date TIMESTAMP(6),
+    news_id          BIGINT REFERENCES news (id)
+);
+
+-- Foreign keys, with id as the second column for the id-ordered pages over them.
+DROP INDEX IF EXISTS news_author_id_idx;
+DROP INDEX IF EXISTS tag_news_tag_id_idx;
+CREATE INDEX IF NOT EXISTS news_author_id_id_idx ON news (author_id, id);
+CREATE INDEX IF NOT EXISTS tag_news_tag_id_new_id_idx ON tag_news (tag_id, new_id);
+CREATE INDEX IF NOT EXISTS comments_news_id_id_idx ON comments (news_id, id);
+
+-- Paging: sort property then id, as built by Pagination. The descending variants are served by a
+-- backward scan of the leading column plus an incremental sort on id.
+CREATE INDEX IF NOT EXISTS news_title_id_idx ON news (title, id);
+CREATE INDEX IF NOT EXISTS comments_content_id_idx ON comments (content, id);
+
+-- Keyset feeds and the comment retention purge.
+CREATE INDEX IF NOT EXISTS news_create_date_id_idx ON news (create_date, id);
+CREATE INDEX IF NOT EXISTS comments_create_date_id_idx ON comments (create_date, id);
+
+-- Full-text search, must match FullTextFunctionContributor.
+CREATE INDEX IF NOT EXISTS news_title_fts_idx ON news USING GIN (to_tsvector('english', title));
+CREATE INDEX IF NOT EXISTS news_content_fts_idx ON news USING GIN (to_tsvector('english', content));
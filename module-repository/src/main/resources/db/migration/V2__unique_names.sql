@@ -0,0 +1,27 @@
+-- Names are looked up and sorted on; duplicates were never meaningful, but ddl-auto=update never
+-- enforced that, so existing databases may hold them. Each name keeps its oldest row (lowest id),
+-- references to the other rows are moved onto it, then the duplicates are deleted.
+
+UPDATE news n
+SET author_id = d.keeper_id
+FROM (SELECT id, MIN(id) OVER (PARTITION BY name) AS keeper_id FROM authors WHERE name IS NOT NULL) d
+WHERE n.author_id = d.id
+  AND d.id <> d.keeper_id;
+
+DELETE FROM authors a USING authors keeper WHERE a.name = keeper.name AND a.id > keeper.id;
+
+INSERT INTO tag_news (new_id, tag_id)
+SELECT tn.new_id, d.keeper_id
+FROM tag_news tn
+         JOIN (SELECT id, MIN(id) OVER (PARTITION BY name) AS keeper_id FROM tags WHERE name IS NOT NULL) d ON tn.tag_id = d.id
+WHERE d.id <> d.keeper_id
+ON CONFLICT DO NOTHING;
+
+DELETE FROM tag_news tn USING tags t, tags keeper WHERE tn.tag_id = t.id AND t.name = keeper.name AND t.id > keeper.id;
+
+DELETE FROM tags t USING tags keeper WHERE t.name = keeper.name AND t.id > keeper.id;
+
+DROP INDEX IF EXISTS authors_name_idx;
+DROP INDEX IF EXISTS tags_name_idx;
+CREATE UNIQUE INDEX IF NOT EXISTS authors_name_key ON authors (name);
+CREATE UNIQUE INDEX IF NOT EXISTS tags_name_key ON tags (name);
@@ -1,9 +1,9 @@
 package com.mjc.school.service;
 
 import com.mjc.school.service.exception.NoSuchElementException;
-
-import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 public interface BaseExtendService<R, K> extends BaseService<R, K> {
-    List<R> readByNewsId(K id) throws NoSuchElementException;
+    Page<R> readByNewsId(K id, Pageable pageable) throws NoSuchElementException;
 }
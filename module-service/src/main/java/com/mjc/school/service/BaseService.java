@@ -1,17 +1,32 @@
 package com.mjc.school.service;
 
+import com.mjc.school.service.dto.VersionDTO;
 import com.mjc.school.service.exception.NoSuchElementException;
+import com.mjc.school.service.exception.ValidationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BaseService<R, K> {
     List<R> readAll();
 
+    Page<R> readAll(Pageable pageable);
+
     R readById(K id) throws NoSuchElementException;
 
-    R create(R createRequest) throws NoSuchElementException;
+    boolean existsById(K id);
+
+    R create(R createRequest) throws NoSuchElementException, ValidationException;
 
-    R update(R updateRequest, K id) throws NoSuchElementException;
+    R update(R updateRequest, K id) throws NoSuchElementException, ValidationException;
 
     boolean deleteById(K id);
+
+    int deleteAllById(Collection<K> ids);
+
+    VersionDTO readVersion(K id) throws NoSuchElementException;
+
+    VersionDTO readVersion();
 }
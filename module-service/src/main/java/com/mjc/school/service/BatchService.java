@@ -0,0 +1,9 @@
+package com.mjc.school.service;
+
+import com.mjc.school.service.dto.BatchResultDTO;
+
+import java.util.List;
+
+public interface BatchService<R> {
+    List<BatchResultDTO<R>> createAll(List<R> createRequests);
+}
@@ -0,0 +1,8 @@
+package com.mjc.school.service;
+
+import com.mjc.school.service.dto.CursorPage;
+import com.mjc.school.service.exception.ValidationException;
+
+public interface CursorService<R> {
+    CursorPage<R> readAfter(String cursor, int limit) throws ValidationException;
+}
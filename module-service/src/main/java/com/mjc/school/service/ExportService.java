@@ -0,0 +1,7 @@
+package com.mjc.school.service;
+
+import java.util.function.Consumer;
+
+public interface ExportService<R> {
+    void exportAll(Consumer<R> consumer);
+}
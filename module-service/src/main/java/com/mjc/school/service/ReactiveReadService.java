@@ -0,0 +1,17 @@
+package com.mjc.school.service;
+
+import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.TagDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveReadService {
+    Flux<NewsDTO> readAll();
+
+    Mono<NewsDTO> readById(Long id);
+
+    Flux<CommentDTO> readCommentsByNewsId(Long id);
+
+    Flux<TagDTO> readTagsByNewsId(Long id);
+}
@@ -0,0 +1,11 @@
+package com.mjc.school.service;
+
+import com.mjc.school.service.dto.RetentionStatusDTO;
+
+public interface RetentionService {
+    RetentionStatusDTO readStatus();
+
+    RetentionStatusDTO dryRun();
+
+    boolean startPurge();
+}
@@ -0,0 +1,8 @@
+package com.mjc.school.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface SearchService<R, S> {
+    Page<R> search(S searchRequest, Pageable pageable);
+}
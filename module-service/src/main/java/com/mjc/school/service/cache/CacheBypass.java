@@ -0,0 +1,12 @@
+package com.mjc.school.service.cache;
+
+/**
+ * Tells the DTO caches that the current read has to see the latest committed state, so cached values
+ * are skipped and the entity is loaded from the database.
+ */
+@FunctionalInterface
+public interface CacheBypass {
+    CacheBypass NEVER = () -> false;
+
+    boolean isActive();
+}
@@ -0,0 +1,112 @@
+package com.mjc.school.service.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mjc.school.service.dto.CacheStatisticsDTO;
+import com.mjc.school.service.exception.NoSuchElementException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of mapped DTOs keyed by entity id. Eviction is size based (W-TinyLFU),
+ * so hot entities stay resident while one-off reads are admitted only if they win over them.
+ * Entries also expire a fixed time after they were written, which bounds how long a value
+ * cached from a stale read can be served.
+ * <p>
+ * A load is registered as an in-flight entry before it queries the database. Evicting the key
+ * discards that entry, so a load which read the row before a write committed never re-caches it
+ * once the write's eviction has run.
+ * <p>
+ * With read replicas a read right after a commit may still see the old row, so every eviction is
+ * repeated once the replication lag allowance has passed, and reads for which {@link CacheBypass}
+ * is active skip cached values.
+ */
+public class DtoCache<R> implements MeterBinder {
+    private final String name;
+    private final AsyncCache<Long, R> cache;
+    private final LongAdder putCount = new LongAdder();
+    private final Duration replicaLag;
+    private final CacheBypass bypass;
+
+    public DtoCache(String name, long maximumSize, Duration expireAfterWrite, Duration replicaLag, CacheBypass bypass) {
+        this.name = name;
+        this.replicaLag = replicaLag;
+        this.bypass = bypass;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite.compareTo(replicaLag) < 0 ? replicaLag : expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public R get(Long id, Loader<R> loader) throws NoSuchElementException {
+        if (bypass.isActive()) return loader.load();
+
+        CompletableFuture<R> loading = new CompletableFuture<>();
+        CompletableFuture<R> entry = cache.get(id, (key, executor) -> loading);
+        if (entry != loading) return await(entry);
+
+        try {
+            R loaded = loader.load();
+            loading.complete(loaded);
+            putCount.increment();
+            return loaded;
+        } catch (NoSuchElementException | RuntimeException e) {
+            // failed futures are dropped from the cache
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void evict(Long id) {
+        if (id != null) invalidate(() -> cache.synchronous().invalidate(id));
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        if (ids != null && !ids.isEmpty()) invalidate(() -> cache.synchronous().invalidateAll(ids));
+    }
+
+    public void clear() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStatisticsDTO statistics() {
+        CacheStats stats = cache.synchronous().stats();
+        return new CacheStatisticsDTO("dto." + name, stats.hitCount(), stats.missCount(), putCount.sum(), cache.synchronous().estimatedSize());
+    }
+
+    private void invalidate(Runnable invalidation) {
+        invalidation.run();
+        if (replicaLag.isZero()) return;
+        CompletableFuture.runAsync(invalidation, CompletableFuture.delayedExecutor(replicaLag.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private static <R> R await(CompletableFuture<R> entry) throws NoSuchElementException {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NoSuchElementException notFound) throw notFound;
+            if (e.getCause() instanceof RuntimeException failure) throw failure;
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "dto." + name);
+    }
+
+    @FunctionalInterface
+    public interface Loader<R> {
+        R load() throws NoSuchElementException;
+    }
+}
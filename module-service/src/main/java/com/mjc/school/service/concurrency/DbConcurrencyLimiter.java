@@ -0,0 +1,61 @@
+package com.mjc.school.service.concurrency;
+
+import com.mjc.school.service.exception.BusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent entity service calls at the size of the connection pool. Callers wait a bounded
+ * time for a permit and get a {@link BusyException} instead of queueing on the pool, so request
+ * threads (platform or virtual) never pile up behind connections that are not there.
+ * Nested service calls on the same thread reuse the permit of the outermost call, and the permit is
+ * taken before any transaction is opened.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "service.db.limiter.enabled", havingValue = "true")
+public class DbConcurrencyLimiter implements MeterBinder {
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final ThreadLocal<Boolean> holding = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    public DbConcurrencyLimiter(@Value("${service.db.limiter.permits:10}") int permits,
+                                @Value("${service.db.limiter.timeout-millis:1000}") long timeoutMillis) {
+        this.permits = new Semaphore(permits, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Around("execution(public * com.mjc.school.service.BaseService+.*(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (holding.get()) return joinPoint.proceed();
+        if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new BusyException("Database is busy, retry later");
+        }
+        holding.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            holding.remove();
+            permits.release();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.limiter.available.permits", permits, Semaphore::availablePermits).register(registry);
+        Gauge.builder("db.limiter.queued", permits, Semaphore::getQueueLength).register(registry);
+    }
+}
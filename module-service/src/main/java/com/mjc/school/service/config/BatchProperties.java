@@ -0,0 +1,16 @@
+package com.mjc.school.service.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+public class BatchProperties {
+    /**
+     * Number of entities persisted before the persistence context is flushed and cleared.
+     * Keep it equal to {@code hibernate.jdbc.batch_size} so every flush sends full JDBC batches.
+     */
+    @Value("${service.batch.size:50}")
+    private int size;
+}
@@ -0,0 +1,61 @@
+package com.mjc.school.service.config;
+
+import com.mjc.school.service.cache.CacheBypass;
+import com.mjc.school.service.cache.DtoCache;
+import com.mjc.school.service.dto.AuthorDTO;
+import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.TagDTO;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class DtoCacheConfig {
+    @Value("${service.cache.dto.expire-after-write-seconds:600}")
+    private long expireAfterWriteSeconds;
+
+    @Value("${repository.datasource.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    @Value("${repository.datasource.read-your-writes-millis:5000}")
+    private long readYourWritesMillis;
+
+    private final ObjectProvider<CacheBypass> cacheBypass;
+
+    public DtoCacheConfig(ObjectProvider<CacheBypass> cacheBypass) {
+        this.cacheBypass = cacheBypass;
+    }
+
+    @Bean
+    public DtoCache<NewsDTO> newsDtoCache(@Value("${service.cache.dto.news.maximum-size:10000}") long maximumSize) {
+        return new DtoCache<>("news", maximumSize, Duration.ofSeconds(expireAfterWriteSeconds), replicaLag(), bypass());
+    }
+
+    @Bean
+    public DtoCache<AuthorDTO> authorDtoCache(@Value("${service.cache.dto.author.maximum-size:5000}") long maximumSize) {
+        return new DtoCache<>("author", maximumSize, Duration.ofSeconds(expireAfterWriteSeconds), replicaLag(), bypass());
+    }
+
+    @Bean
+    public DtoCache<TagDTO> tagDtoCache(@Value("${service.cache.dto.tag.maximum-size:5000}") long maximumSize) {
+        return new DtoCache<>("tag", maximumSize, Duration.ofSeconds(expireAfterWriteSeconds), replicaLag(), bypass());
+    }
+
+    @Bean
+    public DtoCache<CommentDTO> commentDtoCache(@Value("${service.cache.dto.comment.maximum-size:10000}") long maximumSize) {
+        return new DtoCache<>("comment", maximumSize, Duration.ofSeconds(expireAfterWriteSeconds), replicaLag(), bypass());
+    }
+
+    // the read-your-writes window is what replicas are allowed to lag behind the primary
+    private Duration replicaLag() {
+        return replicaEnabled ? Duration.ofMillis(readYourWritesMillis) : Duration.ZERO;
+    }
+
+    private CacheBypass bypass() {
+        return cacheBypass.getIfAvailable(() -> CacheBypass.NEVER);
+    }
+}
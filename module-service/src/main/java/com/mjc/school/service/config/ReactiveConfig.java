@@ -0,0 +1,21 @@
+package com.mjc.school.service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveConfig {
+
+    /**
+     * Runs the blocking repository calls behind the reactive API. Capped at the connection pool
+     * size, so extra subscribers wait in the scheduler queue instead of holding threads.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler dbScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                 @Value("${service.reactive.queue-size:100000}") int queueSize) {
+        return Schedulers.newBoundedElastic(poolSize, queueSize, "reactive-db");
+    }
+}
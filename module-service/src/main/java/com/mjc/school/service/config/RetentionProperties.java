@@ -0,0 +1,27 @@
+package com.mjc.school.service.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+public class RetentionProperties {
+    /**
+     * Comments created more than this many days ago are purged.
+     */
+    @Value("${service.retention.comment.days:365}")
+    private int days;
+
+    /**
+     * Rows deleted per transaction; small chunks keep row locks and WAL bursts short.
+     */
+    @Value("${service.retention.comment.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Pause between chunks so a purge does not starve regular traffic.
+     */
+    @Value("${service.retention.comment.pause-millis:200}")
+    private long pauseMillis;
+}
@@ -0,0 +1,24 @@
+package com.mjc.school.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchResultDTO<R> {
+    private int index;
+    private R result;
+    private String errorMessage;
+
+    public static <R> BatchResultDTO<R> created(int index, R result) {
+        return new BatchResultDTO<>(index, result, null);
+    }
+
+    public static <R> BatchResultDTO<R> failed(int index, String errorMessage) {
+        return new BatchResultDTO<>(index, null, errorMessage);
+    }
+
+    public boolean isCreated() {
+        return errorMessage == null;
+    }
+}
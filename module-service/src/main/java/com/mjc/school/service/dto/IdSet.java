@@ -0,0 +1,160 @@
+package com.mjc.school.service.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable set of ids kept as a sorted, duplicate-free {@code long[]}. Serialized as a plain JSON
+ * array of numbers, the same wire format the former {@code Set<Long>} fields had.
+ */
+@JsonSerialize(using = IdSet.Serializer.class)
+@JsonDeserialize(using = IdSet.Deserializer.class)
+public final class IdSet {
+    private static final IdSet EMPTY = new IdSet(new long[0]);
+
+    private final long[] ids;
+
+    private IdSet(long[] ids) {
+        this.ids = ids;
+    }
+
+    public static IdSet empty() {
+        return EMPTY;
+    }
+
+    public static IdSet of(long... ids) {
+        return sorted(Arrays.copyOf(ids, ids.length), ids.length);
+    }
+
+    public static IdSet copyOf(Collection<Long> ids) {
+        if (ids == null) return null;
+        long[] values = new long[ids.size()];
+        int size = 0;
+        for (Long id : ids) {
+            if (id != null) values[size++] = id;
+        }
+        return sorted(values, size);
+    }
+
+    public static Builder builder() {
+        return new Builder(8);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    private static IdSet sorted(long[] values, int size) {
+        if (size == 0) return EMPTY;
+        Arrays.sort(values, 0, size);
+        int unique = 1;
+        for (int i = 1; i < size; i++) {
+            if (values[i] != values[unique - 1]) values[unique++] = values[i];
+        }
+        return new IdSet(unique == values.length ? values : Arrays.copyOf(values, unique));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    public long get(int index) {
+        return ids[index];
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public boolean containsAny(Collection<Long> others) {
+        for (Long id : others) {
+            if (id != null && contains(id)) return true;
+        }
+        return false;
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(ids);
+    }
+
+    public long[] toArray() {
+        return ids.clone();
+    }
+
+    public List<Long> toList() {
+        return stream().boxed().toList();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof IdSet other && Arrays.equals(ids, other.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(ids);
+    }
+
+    public static final class Builder {
+        private long[] values;
+        private int size;
+
+        private Builder(int expectedSize) {
+            values = new long[Math.max(expectedSize, 1)];
+        }
+
+        public Builder add(long id) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = id;
+            return this;
+        }
+
+        public IdSet build() {
+            return sorted(Arrays.copyOf(values, size), size);
+        }
+    }
+
+    public static final class Serializer extends JsonSerializer<IdSet> {
+        @Override
+        public void serialize(IdSet value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeArray(value.ids, 0, value.ids.length);
+        }
+    }
+
+    public static final class Deserializer extends JsonDeserializer<IdSet> {
+        @Override
+        public IdSet deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) return (IdSet) context.handleUnexpectedToken(IdSet.class, parser);
+            Builder builder = new Builder(8);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.VALUE_NULL) return context.reportInputMismatch(IdSet.class, "Ids must not contain null");
+                if (token != JsonToken.VALUE_NUMBER_INT) return (IdSet) context.handleUnexpectedToken(IdSet.class, parser);
+                builder.add(parser.getLongValue());
+            }
+            return builder.build();
+        }
+    }
+}
@@ -4,11 +4,6 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
 @Data
 public class NewsDTO {
     @NotNull
@@ -21,5 +16,5 @@ public class NewsDTO {
     @NotNull
     @Size(min = 5, max = 255)
     String content;
-    Set<Long> tagsId = new HashSet<>();
+    IdSet tagsId = IdSet.empty();
 }
@@ -0,0 +1,16 @@
+package com.mjc.school.service.dto;
+
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+public class NewsSearchDTO {
+    String title;
+    String content;
+    String authorName;
+    Long authorId;
+    Set<Long> tagIds = new HashSet<>();
+    Set<String> tagNames = new HashSet<>();
+}
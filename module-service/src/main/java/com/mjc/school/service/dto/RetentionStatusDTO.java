@@ -0,0 +1,22 @@
+package com.mjc.school.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class RetentionStatusDTO {
+    private boolean running;
+    private int retentionDays;
+    private LocalDateTime cutoff;
+    private Long expiredCount;
+    private LocalDateTime lastStarted;
+    private LocalDateTime lastFinished;
+    private long lastPurged;
+    private long lastChunks;
+    private long totalPurged;
+    private long runs;
+    private long failures;
+}
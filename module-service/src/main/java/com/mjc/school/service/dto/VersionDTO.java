@@ -0,0 +1,13 @@
+package com.mjc.school.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class VersionDTO {
+    private String version;
+    private LocalDateTime lastModified;
+}
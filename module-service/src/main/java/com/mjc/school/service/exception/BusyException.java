@@ -0,0 +1,7 @@
+package com.mjc.school.service.exception;
+
+public class BusyException extends RuntimeException {
+    public BusyException(String message) {
+        super(message);
+    }
+}
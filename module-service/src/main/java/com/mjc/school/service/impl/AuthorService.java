@@ -1,41 +1,80 @@
 package com.mjc.school.service.impl;
 
 import com.mjc.school.repository.impl.AuthorRepository;
+import com.mjc.school.repository.impl.CommentRepository;
+import com.mjc.school.repository.impl.IdLinkRepository;
+import com.mjc.school.repository.impl.NewsRepository;
 import com.mjc.school.repository.model.AuthorModel;
+import com.mjc.school.repository.projection.LinkedVersionView;
+import com.mjc.school.repository.projection.NameView;
 import com.mjc.school.service.BaseExtendService;
+import com.mjc.school.service.cache.DtoCache;
 import com.mjc.school.service.dto.AuthorDTO;
+import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.IdSet;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.TagDTO;
+import com.mjc.school.service.dto.VersionDTO;
 import com.mjc.school.service.exception.NoSuchElementException;
 import com.mjc.school.service.mapper.AuthorMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
+@Transactional(readOnly = true)
 public class AuthorService implements BaseExtendService<AuthorDTO, Long> {
     private AuthorRepository repository;
+    private NewsRepository newsRepository;
+    private CommentRepository commentRepository;
+    private IdLinkRepository idLinkRepository;
+    private DtoCache<AuthorDTO> cache;
+    private DtoCache<NewsDTO> newsCache;
+    private DtoCache<TagDTO> tagCache;
+    private DtoCache<CommentDTO> commentCache;
 
     @Override
-    public List<AuthorDTO> readByNewsId(Long id) throws NoSuchElementException {
-        List<AuthorModel> authorModel = repository.findAuthorByNewsId(id);
-        if (authorModel == null || authorModel.isEmpty()) throw new NoSuchElementException("No such author");
-        else return AuthorMapper.INSTANCE.authorListToAuthorDtoList(authorModel);
+    public Page<AuthorDTO> readByNewsId(Long id, Pageable pageable) throws NoSuchElementException {
+        Page<NameView> authorViewPage = repository.findNamesByNewsId(id, pageable);
+        if (authorViewPage.getTotalElements() == 0) throw new NoSuchElementException("No such author");
+
+        Map<Long, IdSet> newsIds = newsIds(authorViewPage.map(NameView::getId).getContent());
+        return authorViewPage.map(author -> AuthorMapper.INSTANCE.nameViewToAuthorDto(author,
+                newsIds.getOrDefault(author.getId(), IdSet.empty())));
     }
 
     @Override
     public List<AuthorDTO> readAll() {
-        return AuthorMapper.INSTANCE.authorListToAuthorDtoList(repository.findAll());
+        return toDtoList(repository.findAll());
+    }
+
+    @Override
+    public Page<AuthorDTO> readAll(Pageable pageable) {
+        return toDtoPage(repository.findAll(pageable));
     }
 
     @Override
     public AuthorDTO readById(Long id) throws NoSuchElementException {
-        return AuthorMapper.INSTANCE.authorToAuthorDto(repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such author")));
+        return cache.get(id, () -> toDto(repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such author"))));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return repository.existsById(id);
     }
 
     @Override
+    @Transactional
     public AuthorDTO create(AuthorDTO createRequest) {
         AuthorModel authorModel = new AuthorModel();
         authorModel.setName(createRequest.getName());
@@ -43,25 +82,78 @@ public class AuthorService implements BaseExtendService<AuthorDTO, Long> {
         authorModel.setLastUpdateDate(LocalDateTime.now());
         authorModel.setNews(new HashSet<>());
 
-        return AuthorMapper.INSTANCE.authorToAuthorDto(repository.save(authorModel));
+        return AuthorMapper.INSTANCE.authorToAuthorDto(repository.save(authorModel), IdSet.empty());
     }
 
     @Override
+    @Transactional(rollbackFor = NoSuchElementException.class)
     public AuthorDTO update(AuthorDTO updateRequest, Long id) throws NoSuchElementException {
         AuthorModel authorModel = repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such author"));
         authorModel.setName(updateRequest.getName());
         authorModel.setLastUpdateDate(LocalDateTime.now());
 
-        return AuthorMapper.INSTANCE.authorToAuthorDto(repository.save(authorModel));
+        AuthorModel savedAuthorModel = repository.save(authorModel);
+        AfterCommit.run(() -> cache.evict(id));
+        return toDto(savedAuthorModel);
     }
 
     @Override
+    @Transactional
     public boolean deleteById(Long id) {
-        AuthorModel authorModel = repository.findById(id).orElse(null);
-        if (authorModel == null) return false;
-        else {
-            repository.deleteById(id);
-            return true;
+        return deleteAllById(List.of(id)) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        Set<Long> authorIds = new HashSet<>(ids);
+        Set<Long> newsIds = new HashSet<>(newsRepository.findIdsByAuthorIdIn(authorIds));
+        List<Long> tagIds = newsIds.isEmpty() ? List.of() : newsRepository.findTagIdsByIdIn(newsIds);
+        List<Long> commentIds = newsIds.isEmpty() ? List.of() : commentRepository.findIdsByNewsIdIn(newsIds);
+
+        if (!newsIds.isEmpty()) {
+            commentRepository.deleteAllByNewsIdIn(newsIds);
+            newsRepository.deleteTagLinksByNewsIdIn(newsIds);
+            newsRepository.deleteAllByIdIn(newsIds);
         }
+        int deleted = repository.deleteAllByIdIn(authorIds);
+
+        AfterCommit.run(() -> {
+            cache.evictAll(authorIds);
+            newsCache.evictAll(newsIds);
+            tagCache.evictAll(tagIds);
+            commentCache.evictAll(commentIds);
+        });
+        return deleted;
+    }
+
+    @Override
+    public VersionDTO readVersion(Long id) throws NoSuchElementException {
+        LinkedVersionView versionView = repository.findVersionById(id);
+        if (versionView == null) throw new NoSuchElementException("No such author");
+        else return Versions.ofLinked(versionView);
+    }
+
+    @Override
+    public VersionDTO readVersion() {
+        return Versions.ofCollection(repository.findVersion(), newsRepository.findVersion());
+    }
+
+    private AuthorDTO toDto(AuthorModel authorModel) {
+        return AuthorMapper.INSTANCE.authorToAuthorDto(authorModel, newsIds(List.of(authorModel.getId())).getOrDefault(authorModel.getId(), IdSet.empty()));
+    }
+
+    private List<AuthorDTO> toDtoList(List<AuthorModel> authorModelList) {
+        return AuthorMapper.INSTANCE.authorListToAuthorDtoList(authorModelList, newsIds(authorModelList.stream().map(AuthorModel::getId).toList()));
+    }
+
+    private Page<AuthorDTO> toDtoPage(Page<AuthorModel> authorModelPage) {
+        Map<Long, IdSet> newsIds = newsIds(authorModelPage.map(AuthorModel::getId).getContent());
+        return authorModelPage.map(authorModel -> AuthorMapper.INSTANCE.authorToAuthorDto(authorModel, newsIds.getOrDefault(authorModel.getId(), IdSet.empty())));
+    }
+
+    private Map<Long, IdSet> newsIds(List<Long> authorIds) {
+        return References.linkedIds((ids, consumer) -> idLinkRepository.forEachAuthorNewsLink(ids, References.MAX_INLINE_NEWS_IDS, consumer), authorIds);
     }
 }
@@ -0,0 +1,98 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.repository.model.BaseEntity;
+import com.mjc.school.service.dto.BatchResultDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+final class Batches {
+    private Batches() {
+    }
+
+    static <T> List<List<T>> chunks(List<T> items, int size) {
+        int chunkSize = Math.max(size, 1);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Persists the inserts of one chunk, keyed by item index, in a transaction of their own. If the
+     * database rejects the chunk it is rolled back and its items are retried one per transaction,
+     * so a constraint violation fails only the offending item instead of the whole batch.
+     */
+    static <R> List<BatchResultDTO<R>> persist(TransactionTemplate transactionTemplate, EntityManager entityManager,
+                                               Map<Integer, Supplier<R>> inserts) {
+        if (inserts.isEmpty()) return List.of();
+        try {
+            return transactionTemplate.execute(status -> {
+                List<BatchResultDTO<R>> results = new ArrayList<>(inserts.size());
+                inserts.forEach((index, insert) -> results.add(BatchResultDTO.created(index, insert.get())));
+                entityManager.flush();
+                entityManager.clear();
+                return results;
+            });
+        } catch (PersistenceException | DataAccessException | TransactionException e) {
+            if (inserts.size() == 1) return List.of(BatchResultDTO.failed(inserts.keySet().iterator().next(), "Rejected by the database"));
+
+            List<BatchResultDTO<R>> results = new ArrayList<>(inserts.size());
+            inserts.forEach((index, insert) -> results.addAll(persist(transactionTemplate, entityManager, Map.of(index, insert))));
+            return results;
+        }
+    }
+
+    static <T> void forEachChunk(Stream<T> items, int size, Consumer<List<T>> action) {
+        int chunkSize = Math.max(size, 1);
+        List<T> chunk = new ArrayList<>(chunkSize);
+        Iterator<T> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize) {
+                action.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) action.accept(chunk);
+    }
+
+    static <T extends BaseEntity<Long>> Map<Long, T> byId(List<T> entities) {
+        return entities.stream().collect(Collectors.toMap(BaseEntity::getId, Function.identity()));
+    }
+
+    static String validate(Validator validator, Object request) {
+        if (request == null) return "Empty request";
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) return null;
+        else return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .toList()
+                .toString();
+    }
+
+    static Set<Long> missing(Collection<Long> ids, Collection<Long> found) {
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        missing.removeAll(found);
+        return missing;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.service.CacheStatisticsService;
+import com.mjc.school.service.cache.DtoCache;
+import com.mjc.school.service.dto.CacheStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class CacheService implements CacheStatisticsService {
+    private EntityManagerFactory entityManagerFactory;
+    private List<DtoCache<?>> dtoCaches;
+
+    @Override
+    public List<CacheStatisticsDTO> readStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheStatisticsDTO> cacheStatisticsDTOList = new ArrayList<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(region -> {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                cacheStatisticsDTOList.add(new CacheStatisticsDTO(region,
+                        regionStatistics.getHitCount(),
+                        regionStatistics.getMissCount(),
+                        regionStatistics.getPutCount(),
+                        regionStatistics.getElementCountInMemory()));
+            }
+        });
+        dtoCaches.forEach(dtoCache -> cacheStatisticsDTOList.add(dtoCache.statistics()));
+        return cacheStatisticsDTOList;
+    }
+}
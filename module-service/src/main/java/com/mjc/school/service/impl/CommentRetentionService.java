@@ -0,0 +1,135 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.repository.impl.CommentRepository;
+import com.mjc.school.repository.projection.KeyView;
+import com.mjc.school.service.RetentionService;
+import com.mjc.school.service.cache.DtoCache;
+import com.mjc.school.service.config.RetentionProperties;
+import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.RetentionStatusDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purges comments older than the retention period. Expired rows are walked with a keyset on
+ * (createDate, id) and deleted chunk by chunk, each chunk in its own short transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentRetentionService implements RetentionService, MeterBinder {
+    private final CommentRepository repository;
+    private final DtoCache<CommentDTO> cache;
+    private final RetentionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastPurged = new AtomicLong();
+    private final AtomicLong lastChunks = new AtomicLong();
+    private final AtomicLong totalPurged = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile LocalDateTime lastStarted;
+    private volatile LocalDateTime lastFinished;
+
+    @Override
+    public RetentionStatusDTO readStatus() {
+        return status(null);
+    }
+
+    @Override
+    public RetentionStatusDTO dryRun() {
+        return status(repository.countCreatedBefore(cutoff()));
+    }
+
+    @Override
+    public boolean startPurge() {
+        if (!running.compareAndSet(false, true)) return false;
+        try {
+            taskScheduler.schedule(this::runPurge, Instant.now());
+            return true;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    @Scheduled(cron = "${service.retention.comment.cron:-}")
+    public void purge() {
+        if (running.compareAndSet(false, true)) runPurge();
+    }
+
+    // runs only after the caller has claimed the running flag, and releases it when done
+    private void runPurge() {
+        LocalDateTime cutoff = cutoff();
+        lastStarted = LocalDateTime.now();
+        lastPurged.set(0);
+        lastChunks.set(0);
+        runs.incrementAndGet();
+        try {
+            Pageable chunk = PageRequest.of(0, Math.max(properties.getChunkSize(), 1));
+            KeyView last = null;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<KeyView> keys = last == null
+                        ? repository.findKeysCreatedBefore(cutoff, chunk)
+                        : repository.findKeysCreatedBeforeAfter(cutoff, last.getCreateDate(), last.getId(), chunk);
+                if (keys.isEmpty()) break;
+
+                List<Long> ids = keys.stream().map(KeyView::getId).toList();
+                Integer deleted = transactionTemplate.execute(status -> repository.deleteAllByIdIn(ids));
+                cache.evictAll(ids);
+                lastPurged.addAndGet(deleted == null ? 0 : deleted);
+                totalPurged.addAndGet(deleted == null ? 0 : deleted);
+                lastChunks.incrementAndGet();
+                last = keys.get(keys.size() - 1);
+
+                if (keys.size() < chunk.getPageSize()) break;
+                Thread.sleep(properties.getPauseMillis());
+            }
+            log.info("Purged {} comments created before {} in {} chunks", lastPurged.get(), cutoff, lastChunks.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.error("Comment purge failed after {} rows", lastPurged.get(), e);
+        } finally {
+            lastFinished = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("comment.retention.purged", totalPurged, AtomicLong::get).register(registry);
+        FunctionCounter.builder("comment.retention.runs", runs, AtomicLong::get).register(registry);
+        FunctionCounter.builder("comment.retention.failures", failures, AtomicLong::get).register(registry);
+        Gauge.builder("comment.retention.last.purged", lastPurged, AtomicLong::get).register(registry);
+        Gauge.builder("comment.retention.running", running, value -> value.get() ? 1 : 0).register(registry);
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minusDays(properties.getDays());
+    }
+
+    private RetentionStatusDTO status(Long expiredCount) {
+        return new RetentionStatusDTO(running.get(), properties.getDays(), cutoff(), expiredCount, lastStarted, lastFinished,
+                lastPurged.get(), lastChunks.get(), totalPurged.get(), runs.get(), failures.get());
+    }
+}
@@ -3,30 +3,68 @@ package com.mjc.school.service.impl;
 import com.mjc.school.repository.impl.CommentRepository;
 import com.mjc.school.repository.impl.NewsRepository;
 import com.mjc.school.repository.model.CommentModel;
+import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.repository.projection.CommentView;
+import com.mjc.school.repository.projection.VersionView;
 import com.mjc.school.service.BaseExtendService;
+import com.mjc.school.service.BatchService;
+import com.mjc.school.service.CursorService;
+import com.mjc.school.service.ExportService;
+import com.mjc.school.service.cache.DtoCache;
+import com.mjc.school.service.config.BatchProperties;
+import com.mjc.school.service.dto.BatchResultDTO;
 import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.CursorPage;
+import com.mjc.school.service.dto.VersionDTO;
 import com.mjc.school.service.exception.NoSuchElementException;
+import com.mjc.school.service.exception.ValidationException;
 import com.mjc.school.service.mapper.CommentMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
-public class CommentService implements BaseExtendService<CommentDTO, Long> {
+@Transactional(readOnly = true)
+public class CommentService implements BaseExtendService<CommentDTO, Long>, CursorService<CommentDTO>, BatchService<CommentDTO>, ExportService<CommentDTO> {
     private CommentRepository repository;
     private NewsRepository newsRepository;
+    private DtoCache<CommentDTO> cache;
+    private EntityManager entityManager;
+    private Validator validator;
+    private BatchProperties batchProperties;
+    private TransactionTemplate transactionTemplate;
 
     @Override
-    public List<CommentDTO> readByNewsId(Long id) throws NoSuchElementException {
-        List<CommentModel> commentModel = repository.findCommentByNewsId(id);
-        if (commentModel == null || commentModel.isEmpty()) throw new NoSuchElementException("No such comment");
-        else return CommentMapper.INSTANCE.commentListToCommentDTOList(commentModel);
+    public Page<CommentDTO> readByNewsId(Long id, Pageable pageable) throws NoSuchElementException {
+        Page<CommentView> commentViewPage = repository.findViewsByNewsId(id, pageable);
+        if (commentViewPage.getTotalElements() == 0) throw new NoSuchElementException("No such comment");
+        else return commentViewPage.map(CommentMapper.INSTANCE::commentViewToCommentDTO);
     }
 
     @Override
@@ -34,12 +72,40 @@ public class CommentService implements BaseExtendService<CommentDTO, Long> {
         return CommentMapper.INSTANCE.commentListToCommentDTOList(repository.findAll());
     }
 
+    @Override
+    public Page<CommentDTO> readAll(Pageable pageable) {
+        return repository.findAll(pageable).map(CommentMapper.INSTANCE::commentToCommentDTO);
+    }
+
+    @Override
+    public CursorPage<CommentDTO> readAfter(String cursor, int limit) throws ValidationException {
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<CommentModel> commentModelList;
+        if (cursor == null) {
+            commentModelList = repository.findFeed(pageable);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            commentModelList = repository.findFeedAfter(after.createDate(), after.id(), pageable);
+        }
+
+        if (commentModelList.size() <= limit) return new CursorPage<>(CommentMapper.INSTANCE.commentListToCommentDTOList(commentModelList), null);
+        CommentModel last = commentModelList.get(limit - 1);
+        return new CursorPage<>(CommentMapper.INSTANCE.commentListToCommentDTOList(commentModelList.subList(0, limit)),
+                new Cursor(last.getCreateDate(), last.getId()).encode());
+    }
+
     @Override
     public CommentDTO readById(Long id) throws NoSuchElementException {
-        return CommentMapper.INSTANCE.commentToCommentDTO(repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such comment")));
+        return cache.get(id, () -> CommentMapper.INSTANCE.commentToCommentDTO(repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such comment"))));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return repository.existsById(id);
     }
 
     @Override
+    @Transactional(rollbackFor = NoSuchElementException.class)
     public CommentDTO create(CommentDTO createRequest) throws NoSuchElementException {
         CommentModel commentModel = new CommentModel();
         commentModel.setCreateDate(LocalDateTime.now());
@@ -51,22 +117,95 @@ public class CommentService implements BaseExtendService<CommentDTO, Long> {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchResultDTO<CommentDTO>> createAll(List<CommentDTO> createRequests) {
+        List<BatchResultDTO<CommentDTO>> results = new ArrayList<>(createRequests.size());
+        int index = 0;
+
+        for (List<CommentDTO> chunk : Batches.chunks(createRequests, batchProperties.getSize())) {
+            Set<Long> newsIds = chunk.stream()
+                    .filter(Objects::nonNull)
+                    .map(CommentDTO::getNewsId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<Long> existingNewsIds = newsIds.isEmpty() ? Set.of() : new HashSet<>(newsRepository.findExistingIds(newsIds));
+            Map<Integer, Supplier<CommentDTO>> inserts = new LinkedHashMap<>();
+
+            for (CommentDTO createRequest : chunk) {
+                String error = Batches.validate(validator, createRequest);
+                if (error == null && !existingNewsIds.contains(createRequest.getNewsId())) error = "No such news";
+                if (error != null) {
+                    results.add(BatchResultDTO.failed(index++, error));
+                    continue;
+                }
+
+                inserts.put(index++, () -> {
+                    CommentModel commentModel = new CommentModel();
+                    commentModel.setCreateDate(LocalDateTime.now());
+                    commentModel.setLastUpdateDate(LocalDateTime.now());
+                    commentModel.setContent(createRequest.getContent());
+                    commentModel.setNews(entityManager.getReference(NewsModel.class, createRequest.getNewsId()));
+
+                    entityManager.persist(commentModel);
+                    return CommentMapper.INSTANCE.commentToCommentDTO(commentModel);
+                });
+            }
+            results.addAll(Batches.persist(transactionTemplate, entityManager, inserts));
+        }
+
+        results.sort(Comparator.comparingInt(BatchResultDTO::getIndex));
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<CommentDTO> consumer) {
+        try (Stream<CommentModel> commentModelStream = repository.streamAll()) {
+            Batches.forEachChunk(commentModelStream, batchProperties.getSize(), chunk -> {
+                CommentMapper.INSTANCE.commentListToCommentDTOList(chunk).forEach(consumer);
+                entityManager.clear();
+            });
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = NoSuchElementException.class)
     public CommentDTO update(CommentDTO updateRequest, Long id) throws NoSuchElementException {
         CommentModel commentModel = repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such comment"));
         commentModel.setLastUpdateDate(LocalDateTime.now());
         commentModel.setContent(updateRequest.getContent());
 
         commentModel.setNews(newsRepository.findById(updateRequest.getNewsId()).orElseThrow(() -> new NoSuchElementException("No such news")));
-        return CommentMapper.INSTANCE.commentToCommentDTO(repository.save(commentModel));
+        CommentModel savedCommentModel = repository.save(commentModel);
+        AfterCommit.run(() -> cache.evict(id));
+        return CommentMapper.INSTANCE.commentToCommentDTO(savedCommentModel);
     }
 
     @Override
+    @Transactional
     public boolean deleteById(Long id) {
-        CommentModel commentModel = repository.findById(id).orElse(null);
-        if (commentModel == null) return false;
-        else {
-            repository.deleteById(id);
-            return true;
-        }
+        return deleteAllById(List.of(id)) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        int deleted = repository.deleteAllByIdIn(ids);
+        List<Long> commentIds = new ArrayList<>(ids);
+        AfterCommit.run(() -> cache.evictAll(commentIds));
+        return deleted;
+    }
+
+    @Override
+    public VersionDTO readVersion(Long id) throws NoSuchElementException {
+        VersionView versionView = repository.findVersionById(id);
+        if (versionView == null) throw new NoSuchElementException("No such comment");
+        else return Versions.of(versionView);
+    }
+
+    @Override
+    public VersionDTO readVersion() {
+        return Versions.ofCollection(repository.findVersion());
     }
 }
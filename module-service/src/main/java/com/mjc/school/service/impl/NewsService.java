@@ -2,91 +2,315 @@ package com.mjc.school.service.impl;
 
 
 import com.mjc.school.repository.impl.AuthorRepository;
+import com.mjc.school.repository.impl.CommentRepository;
+import com.mjc.school.repository.impl.IdLinkRepository;
 import com.mjc.school.repository.impl.NewsRepository;
 import com.mjc.school.repository.impl.TagRepository;
 import com.mjc.school.repository.model.AuthorModel;
 import com.mjc.school.repository.model.NewsModel;
 import com.mjc.school.repository.model.TagModel;
+import com.mjc.school.repository.projection.LinkedVersionView;
+import com.mjc.school.repository.specification.NewsSpecifications;
 import com.mjc.school.service.BaseService;
+import com.mjc.school.service.BatchService;
+import com.mjc.school.service.CursorService;
+import com.mjc.school.service.ExportService;
+import com.mjc.school.service.SearchService;
+import com.mjc.school.service.cache.DtoCache;
+import com.mjc.school.service.config.BatchProperties;
+import com.mjc.school.service.dto.AuthorDTO;
+import com.mjc.school.service.dto.BatchResultDTO;
+import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.CursorPage;
+import com.mjc.school.service.dto.IdSet;
 import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.NewsSearchDTO;
+import com.mjc.school.service.dto.TagDTO;
+import com.mjc.school.service.dto.VersionDTO;
 import com.mjc.school.service.exception.NoSuchElementException;
+import com.mjc.school.service.exception.ValidationException;
 import com.mjc.school.service.mapper.NewsMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
-public class NewsService implements BaseService<NewsDTO, Long> {
+@Transactional(readOnly = true)
+public class NewsService implements BaseService<NewsDTO, Long>, CursorService<NewsDTO>, BatchService<NewsDTO>, ExportService<NewsDTO>,
+        SearchService<NewsDTO, NewsSearchDTO> {
     private NewsRepository repository;
     private TagRepository tagRepository;
     private AuthorRepository authorRepository;
+    private CommentRepository commentRepository;
+    private IdLinkRepository idLinkRepository;
+    private DtoCache<NewsDTO> cache;
+    private DtoCache<AuthorDTO> authorCache;
+    private DtoCache<TagDTO> tagCache;
+    private DtoCache<CommentDTO> commentCache;
+    private EntityManager entityManager;
+    private Validator validator;
+    private BatchProperties batchProperties;
+    private TransactionTemplate transactionTemplate;
 
     @Override
     public List<NewsDTO> readAll() {
-        return NewsMapper.INSTANCE.newsListToNewsDtoList(repository.findAll());
+        return toDtoList(repository.findAll());
+    }
+
+    @Override
+    public Page<NewsDTO> readAll(Pageable pageable) {
+        return toDtoPage(repository.findAll(pageable));
+    }
+
+    @Override
+    public Page<NewsDTO> search(NewsSearchDTO searchRequest, Pageable pageable) {
+        Specification<NewsModel> specification = Specification.where(NewsSpecifications.titleMatches(searchRequest.getTitle()))
+                .and(NewsSpecifications.contentMatches(searchRequest.getContent()))
+                .and(NewsSpecifications.authorNameEquals(searchRequest.getAuthorName()))
+                .and(NewsSpecifications.authorIdEquals(searchRequest.getAuthorId()))
+                .and(NewsSpecifications.hasAnyTagId(searchRequest.getTagIds()))
+                .and(NewsSpecifications.hasAnyTagName(searchRequest.getTagNames()));
+        return toDtoPage(repository.findAll(specification, pageable));
+    }
+
+    @Override
+    public CursorPage<NewsDTO> readAfter(String cursor, int limit) throws ValidationException {
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<NewsModel> newsModelList;
+        if (cursor == null) {
+            newsModelList = repository.findFeed(pageable);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            newsModelList = repository.findFeedAfter(after.createDate(), after.id(), pageable);
+        }
+
+        if (newsModelList.size() <= limit) return new CursorPage<>(toDtoList(newsModelList), null);
+        NewsModel last = newsModelList.get(limit - 1);
+        return new CursorPage<>(toDtoList(newsModelList.subList(0, limit)),
+                new Cursor(last.getCreateDate(), last.getId()).encode());
     }
 
     @Override
     public NewsDTO readById(Long id) throws NoSuchElementException {
-        return NewsMapper.INSTANCE.newsToNewsDto(repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such news")));
+        return cache.get(id, () -> toDtoList(List.of(repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such news")))).get(0));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return repository.existsById(id);
     }
 
     @Override
-    public NewsDTO create(NewsDTO createRequest) throws NoSuchElementException {
+    @Transactional(rollbackFor = {NoSuchElementException.class, ValidationException.class})
+    public NewsDTO create(NewsDTO createRequest) throws NoSuchElementException, ValidationException {
         NewsModel newsModel = new NewsModel();
         newsModel.setTitle(createRequest.getTitle());
         newsModel.setContent(createRequest.getContent());
         newsModel.setCreateDate(LocalDateTime.now());
         newsModel.setLastUpdateDate(LocalDateTime.now());
 
-        Set<TagModel> tagModelSet = new HashSet<>();
-        for (Long TagId : createRequest.getTagsId()) {
-            tagModelSet.add(tagRepository.findById(TagId).orElseThrow(() -> new NoSuchElementException("No such tag")));
-        }
+        Set<TagModel> tagModelSet = References.findAllById(tagRepository, createRequest.getTagsId(), "tag");
         AuthorModel authorModel = authorRepository.findById(createRequest.getAuthorId()).orElseThrow(() -> new NoSuchElementException("No such author"));
 
         newsModel.setAuthor(authorModel);
         newsModel.setTags(tagModelSet);
         newsModel.setComments(new ArrayList<>());
 
-        return NewsMapper.INSTANCE.newsToNewsDto(repository.save(newsModel));
+        NewsModel savedNewsModel = repository.save(newsModel);
+        evictRelated(savedNewsModel);
+        return NewsMapper.INSTANCE.newsToNewsDto(savedNewsModel, tagsId(savedNewsModel));
     }
 
     @Override
-    public NewsDTO update(NewsDTO updateRequest, Long id) throws NoSuchElementException {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchResultDTO<NewsDTO>> createAll(List<NewsDTO> createRequests) {
+        List<BatchResultDTO<NewsDTO>> results = new ArrayList<>(createRequests.size());
+        Set<Long> authorIds = new HashSet<>();
+        Set<Long> tagIds = new HashSet<>();
+        int index = 0;
+
+        for (List<NewsDTO> chunk : Batches.chunks(createRequests, batchProperties.getSize())) {
+            Set<Long> existingAuthorIds = Batches.byId(authorRepository.findAllById(chunk.stream()
+                    .filter(Objects::nonNull)
+                    .map(NewsDTO::getAuthorId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()))).keySet();
+            Set<Long> existingTagIds = Batches.byId(tagRepository.findAllById(chunk.stream()
+                    .filter(request -> request != null && request.getTagsId() != null)
+                    .flatMapToLong(request -> request.getTagsId().stream())
+                    .boxed()
+                    .collect(Collectors.toSet()))).keySet();
+            Map<Integer, Supplier<NewsDTO>> inserts = new LinkedHashMap<>();
+
+            for (NewsDTO createRequest : chunk) {
+                String error = Batches.validate(validator, createRequest);
+                IdSet requestTagIds = error == null && createRequest.getTagsId() != null ? createRequest.getTagsId() : IdSet.empty();
+                if (error == null && !existingAuthorIds.contains(createRequest.getAuthorId())) {
+                    error = "No such author";
+                } else if (error == null && !requestTagIds.stream().allMatch(existingTagIds::contains)) {
+                    error = "No such tag with id " + Batches.missing(requestTagIds.toList(), existingTagIds);
+                }
+                if (error != null) {
+                    results.add(BatchResultDTO.failed(index++, error));
+                    continue;
+                }
+
+                inserts.put(index++, () -> {
+                    NewsModel newsModel = new NewsModel();
+                    newsModel.setTitle(createRequest.getTitle());
+                    newsModel.setContent(createRequest.getContent());
+                    newsModel.setCreateDate(LocalDateTime.now());
+                    newsModel.setLastUpdateDate(LocalDateTime.now());
+                    newsModel.setAuthor(entityManager.getReference(AuthorModel.class, createRequest.getAuthorId()));
+                    newsModel.setTags(requestTagIds.stream().mapToObj(tagId -> entityManager.getReference(TagModel.class, tagId)).collect(Collectors.toSet()));
+                    newsModel.setComments(new ArrayList<>());
+
+                    entityManager.persist(newsModel);
+                    return NewsMapper.INSTANCE.newsToNewsDto(newsModel, requestTagIds);
+                });
+            }
+
+            for (BatchResultDTO<NewsDTO> result : Batches.persist(transactionTemplate, entityManager, inserts)) {
+                results.add(result);
+                if (result.isCreated()) {
+                    authorIds.add(result.getResult().getAuthorId());
+                    result.getResult().getTagsId().stream().forEach(tagIds::add);
+                }
+            }
+        }
+
+        authorCache.evictAll(authorIds);
+        tagCache.evictAll(tagIds);
+        results.sort(Comparator.comparingInt(BatchResultDTO::getIndex));
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<NewsDTO> consumer) {
+        try (Stream<NewsModel> newsModelStream = repository.streamAll()) {
+            Batches.forEachChunk(newsModelStream, batchProperties.getSize(), chunk -> {
+                toDtoList(chunk).forEach(consumer);
+                entityManager.clear();
+            });
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = {NoSuchElementException.class, ValidationException.class})
+    public NewsDTO update(NewsDTO updateRequest, Long id) throws NoSuchElementException, ValidationException {
         NewsModel newsModel = repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such news"));
+        evictRelated(newsModel);
         newsModel.setTitle(updateRequest.getTitle());
         newsModel.setContent(updateRequest.getContent());
         newsModel.setLastUpdateDate(LocalDateTime.now());
 
-        Set<TagModel> tagModelSet = new HashSet<>();
-        for (Long TagId : updateRequest.getTagsId()) {
-            tagModelSet.add(tagRepository.findById(TagId).orElseThrow(() -> new NoSuchElementException("No such tag")));
-        }
+        Set<TagModel> tagModelSet = References.findAllById(tagRepository, updateRequest.getTagsId(), "tag");
         AuthorModel authorModel = authorRepository.findById(updateRequest.getAuthorId()).orElseThrow(() -> new NoSuchElementException("No such author"));
 
         newsModel.setAuthor(authorModel);
         newsModel.setTags(tagModelSet);
 
-        return NewsMapper.INSTANCE.newsToNewsDto(repository.save(newsModel));
+        NewsModel savedNewsModel = repository.save(newsModel);
+        AfterCommit.run(() -> cache.evict(id));
+        evictRelated(savedNewsModel);
+        return NewsMapper.INSTANCE.newsToNewsDto(savedNewsModel, tagsId(savedNewsModel));
     }
 
     @Override
+    @Transactional
     public boolean deleteById(Long id) {
-        NewsModel newsModel = repository.findById(id).orElse(null);
-        if (newsModel == null) return false;
-        else {
-            repository.deleteById(id);
-            return true;
+        return deleteAllById(List.of(id)) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        Set<Long> newsIds = new HashSet<>(ids);
+        List<Long> authorIds = repository.findAuthorIdsByIdIn(newsIds);
+        List<Long> tagIds = repository.findTagIdsByIdIn(newsIds);
+        List<Long> commentIds = commentRepository.findIdsByNewsIdIn(newsIds);
+
+        commentRepository.deleteAllByNewsIdIn(newsIds);
+        repository.deleteTagLinksByNewsIdIn(newsIds);
+        int deleted = repository.deleteAllByIdIn(newsIds);
+
+        AfterCommit.run(() -> {
+            cache.evictAll(newsIds);
+            authorCache.evictAll(authorIds);
+            tagCache.evictAll(tagIds);
+            commentCache.evictAll(commentIds);
+        });
+        return deleted;
+    }
+
+    @Override
+    public VersionDTO readVersion(Long id) throws NoSuchElementException {
+        LinkedVersionView versionView = repository.findVersionById(id);
+        if (versionView == null) throw new NoSuchElementException("No such news");
+        else return Versions.ofLinked(versionView);
+    }
+
+    @Override
+    public VersionDTO readVersion() {
+        return Versions.ofCollection(repository.findVersion(), tagRepository.findVersion());
+    }
+
+    private List<NewsDTO> toDtoList(List<NewsModel> newsModelList) {
+        return NewsMapper.INSTANCE.newsListToNewsDtoList(newsModelList, tagsIds(newsModelList));
+    }
+
+    private Page<NewsDTO> toDtoPage(Page<NewsModel> newsModelPage) {
+        Map<Long, IdSet> tagsIds = tagsIds(newsModelPage.getContent());
+        return newsModelPage.map(newsModel -> NewsMapper.INSTANCE.newsToNewsDto(newsModel, tagsIds.getOrDefault(newsModel.getId(), IdSet.empty())));
+    }
+
+    private Map<Long, IdSet> tagsIds(List<NewsModel> newsModelList) {
+        return References.linkedIds(idLinkRepository::forEachTagLink, newsModelList.stream().map(NewsModel::getId).toList());
+    }
+
+    private IdSet tagsId(NewsModel newsModel) {
+        IdSet.Builder tagsId = IdSet.builder(newsModel.getTags().size());
+        for (TagModel tagModel : newsModel.getTags()) {
+            tagsId.add(tagModel.getId());
         }
+        return tagsId.build();
+    }
+
+    private void evictRelated(NewsModel newsModel) {
+        Long authorId = newsModel.getAuthor() == null ? null : newsModel.getAuthor().getId();
+        List<Long> tagIds = newsModel.getTags().stream().map(TagModel::getId).toList();
+        AfterCommit.run(() -> {
+            authorCache.evict(authorId);
+            tagCache.evictAll(tagIds);
+        });
     }
 }
@@ -0,0 +1,98 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.service.BaseExtendService;
+import com.mjc.school.service.BaseService;
+import com.mjc.school.service.CursorService;
+import com.mjc.school.service.ReactiveReadService;
+import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.CursorPage;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.TagDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Bridges the blocking services to Reactor. Every call runs on the bounded DB scheduler, and the
+ * news stream is pulled page by page through the keyset feed, so a slow client only costs a
+ * subscription rather than a thread or an open cursor.
+ * <p>
+ * Each call runs in a read-only transaction of its own: the scheduler threads have no request
+ * bound session, so mapping lazy associations would otherwise fail outside the repository call.
+ */
+@Service
+@AllArgsConstructor
+public class ReactiveNewsService implements ReactiveReadService {
+    private static final int PAGE_SIZE = 100;
+    private static final TransactionDefinition READ_ONLY = readOnly();
+
+    private BaseService<NewsDTO, Long> newsService;
+    private CursorService<NewsDTO> newsCursorService;
+    private BaseExtendService<CommentDTO, Long> commentService;
+    private BaseExtendService<TagDTO, Long> tagService;
+    private Scheduler dbScheduler;
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public Flux<NewsDTO> readAll() {
+        return blocking(() -> newsCursorService.readAfter(null, PAGE_SIZE))
+                .expand(page -> page.hasNext()
+                        ? blocking(() -> newsCursorService.readAfter(page.getNextCursor(), PAGE_SIZE))
+                        : Mono.empty())
+                .concatMapIterable(CursorPage::getContent);
+    }
+
+    @Override
+    public Mono<NewsDTO> readById(Long id) {
+        return blocking(() -> newsService.readById(id));
+    }
+
+    @Override
+    public Flux<CommentDTO> readCommentsByNewsId(Long id) {
+        return blocking(() -> commentService.readByNewsId(id, PageRequest.of(0, PAGE_SIZE, Sort.by("id"))))
+                .expand(page -> page.hasNext()
+                        ? blocking(() -> commentService.readByNewsId(id, page.nextPageable()))
+                        : Mono.empty())
+                .concatMapIterable(Page::getContent);
+    }
+
+    @Override
+    public Flux<TagDTO> readTagsByNewsId(Long id) {
+        return blocking(() -> tagService.readByNewsId(id, Pageable.unpaged())).flatMapIterable(Page::getContent);
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(() -> inTransaction(call)).subscribeOn(dbScheduler);
+    }
+
+    private <T> T inTransaction(Callable<T> call) throws Exception {
+        TransactionStatus status = transactionManager.getTransaction(READ_ONLY);
+        T result;
+        try {
+            result = call.call();
+        } catch (Throwable e) {
+            transactionManager.rollback(status);
+            throw e;
+        }
+        transactionManager.commit(status);
+        return result;
+    }
+
+    private static TransactionDefinition readOnly() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        return definition;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.repository.impl.IdLinkRepository;
+import com.mjc.school.repository.model.BaseEntity;
+import com.mjc.school.service.dto.IdSet;
+import com.mjc.school.service.exception.NoSuchElementException;
+import com.mjc.school.service.exception.ValidationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+/**
+ * Resolves referenced ids with a single {@code IN} query instead of one lookup per id.
+ */
+final class References {
+    static final int MAX_IN_IDS = 1000;
+    /**
+     * Author and tag reads list at most this many news ids; the full list is paged under /{id}/news.
+     */
+    static final int MAX_INLINE_NEWS_IDS = 100;
+
+    private References() {
+    }
+
+    static <T extends BaseEntity<Long>> Set<T> findAllById(JpaRepository<T, Long> repository,
+                                                           Collection<Long> ids,
+                                                           String name) throws NoSuchElementException, ValidationException {
+        if (ids == null || ids.isEmpty()) return new HashSet<>();
+        if (ids.stream().anyMatch(Objects::isNull)) throw new ValidationException("The " + name + " ids must not contain null");
+        return findAll(repository, new TreeSet<>(ids), name);
+    }
+
+    static <T extends BaseEntity<Long>> Set<T> findAllById(JpaRepository<T, Long> repository,
+                                                           IdSet ids,
+                                                           String name) throws NoSuchElementException {
+        if (ids == null || ids.isEmpty()) return new HashSet<>();
+        return findAll(repository, new TreeSet<>(ids.toList()), name);
+    }
+
+    private static <T extends BaseEntity<Long>> Set<T> findAll(JpaRepository<T, Long> repository,
+                                                               Set<Long> requested,
+                                                               String name) throws NoSuchElementException {
+        List<T> found = repository.findAllById(requested);
+        if (found.size() == requested.size()) return new HashSet<>(found);
+
+        found.forEach(entity -> requested.remove(entity.getId()));
+        throw new NoSuchElementException("No such " + name + " with id " + requested);
+    }
+
+    /**
+     * Groups (id, linked id) rows into one {@link IdSet} per id, querying at most {@code MAX_IN_IDS} ids at a time.
+     */
+    static Map<Long, IdSet> linkedIds(BiConsumer<Collection<Long>, IdLinkRepository.LinkConsumer> query, List<Long> ids) {
+        Map<Long, IdSet.Builder> builders = new HashMap<>();
+        LinkGrouper grouper = new LinkGrouper(builders);
+        for (List<Long> chunk : Batches.chunks(ids, MAX_IN_IDS)) {
+            query.accept(chunk, grouper);
+        }
+        Map<Long, IdSet> linkedIds = new HashMap<>(builders.size() * 2);
+        builders.forEach((id, builder) -> linkedIds.put(id, builder.build()));
+        return linkedIds;
+    }
+
+    // rows of one id usually arrive together, so the last builder is reused without a map lookup
+    private static final class LinkGrouper implements IdLinkRepository.LinkConsumer {
+        private final Map<Long, IdSet.Builder> builders;
+        private long lastId;
+        private IdSet.Builder last;
+
+        private LinkGrouper(Map<Long, IdSet.Builder> builders) {
+            this.builders = builders;
+        }
+
+        @Override
+        public void accept(long id, long linkedId) {
+            if (last == null || id != lastId) {
+                last = builders.computeIfAbsent(id, key -> IdSet.builder());
+                lastId = id;
+            }
+            last.add(linkedId);
+        }
+    }
+}
@@ -1,85 +1,239 @@
 package com.mjc.school.service.impl;
 
+import com.mjc.school.repository.impl.IdLinkRepository;
 import com.mjc.school.repository.impl.NewsRepository;
 import com.mjc.school.repository.impl.TagRepository;
 import com.mjc.school.repository.model.NewsModel;
 import com.mjc.school.repository.model.TagModel;
+import com.mjc.school.repository.projection.LinkedVersionView;
+import com.mjc.school.repository.projection.NameView;
 import com.mjc.school.service.BaseExtendService;
+import com.mjc.school.service.BatchService;
+import com.mjc.school.service.cache.DtoCache;
+import com.mjc.school.service.config.BatchProperties;
+import com.mjc.school.service.dto.BatchResultDTO;
+import com.mjc.school.service.dto.IdSet;
+import com.mjc.school.service.dto.NewsDTO;
 import com.mjc.school.service.dto.TagDTO;
+import com.mjc.school.service.dto.VersionDTO;
 import com.mjc.school.service.exception.NoSuchElementException;
+import com.mjc.school.service.exception.ValidationException;
 import com.mjc.school.service.mapper.TagMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
-public class TagService implements BaseExtendService<TagDTO, Long> {
+@Transactional(readOnly = true)
+public class TagService implements BaseExtendService<TagDTO, Long>, BatchService<TagDTO> {
     private TagRepository repository;
     private NewsRepository newsRepository;
+    private IdLinkRepository idLinkRepository;
+    private DtoCache<TagDTO> cache;
+    private DtoCache<NewsDTO> newsCache;
+    private EntityManager entityManager;
+    private Validator validator;
+    private BatchProperties batchProperties;
+    private TransactionTemplate transactionTemplate;
 
     @Override
-    public List<TagDTO> readByNewsId(Long id) throws NoSuchElementException {
-        List<TagModel> tagModel = repository.findTagByNewsId(id);
-        if (tagModel == null || tagModel.isEmpty()) throw new NoSuchElementException("No such tag");
-        else return TagMapper.INSTANCE.tagListToTagDTOList(tagModel);
+    public Page<TagDTO> readByNewsId(Long id, Pageable pageable) throws NoSuchElementException {
+        Page<NameView> tagViewPage = repository.findNamesByNewsId(id, pageable);
+        if (tagViewPage.getTotalElements() == 0) throw new NoSuchElementException("No such tag");
+
+        Map<Long, IdSet> newsIds = newsIds(tagViewPage.map(NameView::getId).getContent());
+        return tagViewPage.map(tag -> TagMapper.INSTANCE.nameViewToTagDTO(tag,
+                newsIds.getOrDefault(tag.getId(), IdSet.empty())));
     }
 
     @Override
     public List<TagDTO> readAll() {
-        return TagMapper.INSTANCE.tagListToTagDTOList(repository.findAll());
+        return toDtoList(repository.findAll());
+    }
+
+    @Override
+    public Page<TagDTO> readAll(Pageable pageable) {
+        return toDtoPage(repository.findAll(pageable));
     }
 
     @Override
     public TagDTO readById(Long id) throws NoSuchElementException {
-        return TagMapper.INSTANCE.tagToTagDTO(repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such tag")));
+        return cache.get(id, () -> toDto(repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such tag"))));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return repository.existsById(id);
     }
 
     @Override
-    public TagDTO create(TagDTO createRequest) throws NoSuchElementException {
+    @Transactional(rollbackFor = {NoSuchElementException.class, ValidationException.class})
+    public TagDTO create(TagDTO createRequest) throws NoSuchElementException, ValidationException {
         TagModel tagModel = new TagModel();
         tagModel.setCreateDate(LocalDateTime.now());
         tagModel.setLastUpdateDate(LocalDateTime.now());
         tagModel.setName(createRequest.getName());
 
-        Set<NewsModel> newsModelSet = new HashSet<>();
-        for (Long newsId : createRequest.getNewsId()) {
-            newsModelSet.add(newsRepository.findById(newsId).orElseThrow(() -> new NoSuchElementException("No such news")));
+        tagModel.setNews(References.findAllById(newsRepository, createRequest.getNewsId(), "news"));
+
+        TagModel savedTagModel = repository.save(tagModel);
+        evictNews(savedTagModel);
+        return TagMapper.INSTANCE.tagToTagDTO(savedTagModel, newsId(savedTagModel));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchResultDTO<TagDTO>> createAll(List<TagDTO> createRequests) {
+        List<BatchResultDTO<TagDTO>> results = new ArrayList<>(createRequests.size());
+        Set<String> names = createRequests.stream()
+                .filter(request -> request != null && request.getName() != null)
+                .map(TagDTO::getName)
+                .collect(Collectors.toSet());
+        // taken and repeated names fail up front instead of as a constraint violation that rolls back a chunk
+        Set<String> takenNames = names.isEmpty() ? new HashSet<>() : new HashSet<>(repository.findExistingNames(names));
+        int index = 0;
+
+        for (List<TagDTO> chunk : Batches.chunks(createRequests, batchProperties.getSize())) {
+            Set<Long> newsIds = chunk.stream()
+                    .filter(request -> request != null && request.getNewsId() != null)
+                    .flatMapToLong(request -> request.getNewsId().stream())
+                    .boxed()
+                    .collect(Collectors.toSet());
+            Set<Long> existingNewsIds = newsIds.isEmpty() ? Set.of() : new HashSet<>(newsRepository.findExistingIds(newsIds));
+            Map<Integer, Supplier<TagDTO>> inserts = new LinkedHashMap<>();
+
+            for (TagDTO createRequest : chunk) {
+                String error = Batches.validate(validator, createRequest);
+                IdSet requestNewsIds = error == null && createRequest.getNewsId() != null ? createRequest.getNewsId() : IdSet.empty();
+                if (error == null && !requestNewsIds.stream().allMatch(existingNewsIds::contains)) {
+                    error = "No such news with id " + Batches.missing(requestNewsIds.toList(), existingNewsIds);
+                } else if (error == null && !takenNames.add(createRequest.getName())) {
+                    error = "Tag with name " + createRequest.getName() + " already exists";
+                }
+                if (error != null) {
+                    results.add(BatchResultDTO.failed(index++, error));
+                    continue;
+                }
+
+                inserts.put(index++, () -> {
+                    TagModel tagModel = new TagModel();
+                    tagModel.setCreateDate(LocalDateTime.now());
+                    tagModel.setLastUpdateDate(LocalDateTime.now());
+                    tagModel.setName(createRequest.getName());
+                    tagModel.setNews(new HashSet<>());
+
+                    entityManager.persist(tagModel);
+                    return TagMapper.INSTANCE.tagToTagDTO(tagModel, IdSet.empty());
+                });
+            }
+            results.addAll(Batches.persist(transactionTemplate, entityManager, inserts));
         }
-        tagModel.setNews(newsModelSet);
 
-        return TagMapper.INSTANCE.tagToTagDTO(repository.save(tagModel));
+        results.sort(Comparator.comparingInt(BatchResultDTO::getIndex));
+        return results;
     }
 
     @Override
-    public TagDTO update(TagDTO updateRequest, Long id) throws NoSuchElementException {
+    @Transactional(rollbackFor = {NoSuchElementException.class, ValidationException.class})
+    public TagDTO update(TagDTO updateRequest, Long id) throws NoSuchElementException, ValidationException {
         TagModel tagModel = repository.findById(id).orElseThrow(() -> new NoSuchElementException("No such tag"));
+        evictNews(tagModel);
         tagModel.setLastUpdateDate(LocalDateTime.now());
         tagModel.setName(updateRequest.getName());
 
-        Set<NewsModel> newsModelSet = new HashSet<>();
-        for (Long newsId : updateRequest.getNewsId()) {
-            newsModelSet.add(newsRepository.findById(newsId).orElseThrow(() -> new NoSuchElementException("No such news")));
-        }
-        tagModel.setNews(newsModelSet);
+        tagModel.setNews(References.findAllById(newsRepository, updateRequest.getNewsId(), "news"));
 
-        return TagMapper.INSTANCE.tagToTagDTO(repository.save(tagModel));
+        TagModel savedTagModel = repository.save(tagModel);
+        AfterCommit.run(() -> cache.evict(id));
+        evictNews(savedTagModel);
+        return TagMapper.INSTANCE.tagToTagDTO(savedTagModel, newsId(savedTagModel));
     }
 
     @Override
+    @Transactional
     public boolean deleteById(Long id) {
-        TagModel tagModel = repository.findById(id).orElse(null);
-        if (tagModel == null) return false;
-        else {
-            repository.deleteById(id);
-            return true;
+        return deleteAllById(List.of(id)) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        Set<Long> tagIds = new HashSet<>(ids);
+        List<Long> newsIds = repository.findNewsIdsByIdIn(tagIds);
+
+        repository.deleteNewsLinksByTagIdIn(tagIds);
+        int deleted = repository.deleteAllByIdIn(tagIds);
+
+        AfterCommit.run(() -> {
+            cache.evictAll(tagIds);
+            newsCache.evictAll(newsIds);
+        });
+        return deleted;
+    }
+
+    @Override
+    public VersionDTO readVersion(Long id) throws NoSuchElementException {
+        LinkedVersionView versionView = repository.findVersionById(id);
+        if (versionView == null) throw new NoSuchElementException("No such tag");
+        else return Versions.ofLinked(versionView);
+    }
+
+    @Override
+    public VersionDTO readVersion() {
+        return Versions.ofCollection(repository.findVersion(), newsRepository.findVersion());
+    }
+
+    private TagDTO toDto(TagModel tagModel) {
+        return TagMapper.INSTANCE.tagToTagDTO(tagModel, newsIds(List.of(tagModel.getId())).getOrDefault(tagModel.getId(), IdSet.empty()));
+    }
+
+    private List<TagDTO> toDtoList(List<TagModel> tagModelList) {
+        return TagMapper.INSTANCE.tagListToTagDTOList(tagModelList, newsIds(tagModelList.stream().map(TagModel::getId).toList()));
+    }
+
+    private Page<TagDTO> toDtoPage(Page<TagModel> tagModelPage) {
+        Map<Long, IdSet> newsIds = newsIds(tagModelPage.map(TagModel::getId).getContent());
+        return tagModelPage.map(tagModel -> TagMapper.INSTANCE.tagToTagDTO(tagModel, newsIds.getOrDefault(tagModel.getId(), IdSet.empty())));
+    }
+
+    private Map<Long, IdSet> newsIds(List<Long> tagIds) {
+        return References.linkedIds((ids, consumer) -> idLinkRepository.forEachTagNewsLink(ids, References.MAX_INLINE_NEWS_IDS, consumer), tagIds);
+    }
+
+    // the news were just assigned from the request, so their ids are known without a query
+    private IdSet newsId(TagModel tagModel) {
+        IdSet.Builder newsId = IdSet.builder(tagModel.getNews().size());
+        for (NewsModel newsModel : tagModel.getNews()) {
+            newsId.add(newsModel.getId());
         }
+        return newsId.build();
+    }
+
+    private void evictNews(TagModel tagModel) {
+        List<Long> newsIds = tagModel.getNews().stream().map(NewsModel::getId).toList();
+        AfterCommit.run(() -> newsCache.evictAll(newsIds));
     }
 }
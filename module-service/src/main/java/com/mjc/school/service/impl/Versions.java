@@ -0,0 +1,52 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.repository.projection.LinkedVersionView;
+import com.mjc.school.repository.projection.VersionView;
+import com.mjc.school.service.dto.VersionDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.StringJoiner;
+
+/**
+ * Builds validators from {@code COUNT}/{@code MAX(lastUpdateDate)} aggregates, so a version
+ * changes whenever a row is inserted, updated or deleted, without loading any entity.
+ * <p>
+ * Only a version read from a single row carries a last-modified date. Deleting a row or an
+ * association link changes the count but moves no timestamp forward, so collections and
+ * linked entities are validated by ETag alone.
+ */
+final class Versions {
+    private Versions() {
+    }
+
+    static VersionDTO of(VersionView versionView) {
+        return new VersionDTO(version(versionView).toString(), versionView.getLastUpdateDate());
+    }
+
+    static VersionDTO ofLinked(LinkedVersionView versionView) {
+        StringJoiner version = version(versionView);
+        version.add(String.valueOf(versionView.getLinkedIdSum() == null ? 0 : versionView.getLinkedIdSum()));
+        version.add(millis(versionView.getLinkedLastUpdateDate()));
+        return new VersionDTO(version.toString(), null);
+    }
+
+    static VersionDTO ofCollection(VersionView... versionViews) {
+        StringJoiner version = new StringJoiner("-");
+        for (VersionView versionView : versionViews) {
+            version.merge(version(versionView));
+        }
+        return new VersionDTO(version.toString(), null);
+    }
+
+    private static StringJoiner version(VersionView versionView) {
+        StringJoiner version = new StringJoiner("-");
+        version.add(String.valueOf(versionView.getCount()));
+        version.add(millis(versionView.getLastUpdateDate()));
+        return version;
+    }
+
+    private static String millis(LocalDateTime dateTime) {
+        return dateTime == null ? "0" : String.valueOf(dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
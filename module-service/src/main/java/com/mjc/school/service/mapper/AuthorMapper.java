@@ -1,29 +1,42 @@
 package com.mjc.school.service.mapper;
 
 import com.mjc.school.repository.model.AuthorModel;
-import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.repository.projection.NameView;
 import com.mjc.school.service.dto.AuthorDTO;
+import com.mjc.school.service.dto.IdSet;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Mapper
 public interface AuthorMapper {
     AuthorMapper INSTANCE = Mappers.getMapper( AuthorMapper.class );
 
-    @Mapping(target = "newsId", source = "news")
+    @Mapping(target = "newsId", ignore = true)
     AuthorDTO authorToAuthorDto(AuthorModel author);
 
-    @Mapping(target = "newsId", source = "news")
-    List<AuthorDTO> authorListToAuthorDtoList(List<AuthorModel> authorList);
+    default AuthorDTO authorToAuthorDto(AuthorModel author, IdSet newsId) {
+        AuthorDTO authorDTO = authorToAuthorDto(author);
+        authorDTO.setNewsId(newsId);
+        return authorDTO;
+    }
+
+    default List<AuthorDTO> authorListToAuthorDtoList(List<AuthorModel> authorList, Map<Long, IdSet> newsIds) {
+        List<AuthorDTO> authorDTOList = new ArrayList<>(authorList.size());
+        for (AuthorModel author : authorList) {
+            authorDTOList.add(authorToAuthorDto(author, newsIds.getOrDefault(author.getId(), IdSet.empty())));
+        }
+        return authorDTOList;
+    }
 
-    default Set<Long> mapNewsToNewsId(Set<NewsModel> news) {
-        return news.stream()
-                .map(NewsModel::getId)
-                .collect(Collectors.toSet());
+    default AuthorDTO nameViewToAuthorDto(NameView author, IdSet newsId) {
+        AuthorDTO authorDTO = new AuthorDTO();
+        authorDTO.setName(author.getName());
+        authorDTO.setNewsId(newsId);
+        return authorDTO;
     }
 }
@@ -2,12 +2,15 @@ package com.mjc.school.service.mapper;
 
 import com.mjc.school.repository.model.CommentModel;
 import com.mjc.school.repository.model.NewsModel;
+import com.mjc.school.repository.projection.CommentView;
 import com.mjc.school.service.dto.CommentDTO;
+import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
 
+@Mapper
 public interface CommentMapper {
     CommentMapper INSTANCE = Mappers.getMapper( CommentMapper.class );
 
@@ -17,6 +20,8 @@ public interface CommentMapper {
     @Mapping(target = "newsId", source = "news")
     List<CommentDTO> commentListToCommentDTOList (List<CommentModel> commentList);
 
+    CommentDTO commentViewToCommentDTO(CommentView comment);
+
     default Long mapNewsToNewsId(NewsModel news) {
         return news.getId();
     }
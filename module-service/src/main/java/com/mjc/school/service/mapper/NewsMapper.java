@@ -2,31 +2,35 @@ package com.mjc.school.service.mapper;
 
 import com.mjc.school.repository.model.AuthorModel;
 import com.mjc.school.repository.model.NewsModel;
-import com.mjc.school.repository.model.TagModel;
+import com.mjc.school.service.dto.IdSet;
 import com.mjc.school.service.dto.NewsDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Mapper
 public interface NewsMapper {
     NewsMapper INSTANCE = Mappers.getMapper( NewsMapper.class );
-    @Mapping(target = "tagsId", source = "tags")
+    @Mapping(target = "tagsId", ignore = true)
     @Mapping(target = "authorId", source = "author")
     NewsDTO newsToNewsDto(NewsModel news);
 
-    @Mapping(target = "tagsId", source = "tags")
-    @Mapping(target = "authorId", source = "author")
-    List<NewsDTO> newsListToNewsDtoList(List<NewsModel> newsList);
+    default NewsDTO newsToNewsDto(NewsModel news, IdSet tagsId) {
+        NewsDTO newsDTO = newsToNewsDto(news);
+        newsDTO.setTagsId(tagsId);
+        return newsDTO;
+    }
 
-    default Set<Long> mapTagsToTagsId(Set<TagModel> tags) {
-        return tags.stream()
-                .map(TagModel::getId)
-                .collect(Collectors.toSet());
+    default List<NewsDTO> newsListToNewsDtoList(List<NewsModel> newsList, Map<Long, IdSet> tagsIds) {
+        List<NewsDTO> newsDTOList = new ArrayList<>(newsList.size());
+        for (NewsModel news : newsList) {
+            newsDTOList.add(newsToNewsDto(news, tagsIds.getOrDefault(news.getId(), IdSet.empty())));
+        }
+        return newsDTOList;
     }
 
     default Long mapAuthorToAuthorId(AuthorModel author) {
@@ -1,30 +1,43 @@
 package com.mjc.school.service.mapper;
 
-import com.mjc.school.repository.model.NewsModel;
 import com.mjc.school.repository.model.TagModel;
+import com.mjc.school.repository.projection.NameView;
+import com.mjc.school.service.dto.IdSet;
 import com.mjc.school.service.dto.TagDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Mapper
 public interface TagMapper {
     TagMapper INSTANCE = Mappers.getMapper( TagMapper.class );
 
-    @Mapping(target = "newsId", source = "news")
+    @Mapping(target = "newsId", ignore = true)
     TagDTO tagToTagDTO(TagModel tag);
 
-    @Mapping(target = "newsId", source = "news")
-    List<TagDTO> tagListToTagDTOList(List<TagModel> tagList);
+    default TagDTO tagToTagDTO(TagModel tag, IdSet newsId) {
+        TagDTO tagDTO = tagToTagDTO(tag);
+        tagDTO.setNewsId(newsId);
+        return tagDTO;
+    }
+
+    default List<TagDTO> tagListToTagDTOList(List<TagModel> tagList, Map<Long, IdSet> newsIds) {
+        List<TagDTO> tagDTOList = new ArrayList<>(tagList.size());
+        for (TagModel tag : tagList) {
+            tagDTOList.add(tagToTagDTO(tag, newsIds.getOrDefault(tag.getId(), IdSet.empty())));
+        }
+        return tagDTOList;
+    }
 
-    default Set<Long> mapNewsToNewsId(Set<NewsModel> news) {
-        return news.stream()
-                .map(NewsModel::getId)
-                .collect(Collectors.toSet());
+    default TagDTO nameViewToTagDTO(NameView tag, IdSet newsId) {
+        TagDTO tagDTO = new TagDTO();
+        tagDTO.setName(tag.getName());
+        tagDTO.setNewsId(newsId);
+        return tagDTO;
     }
 
 }
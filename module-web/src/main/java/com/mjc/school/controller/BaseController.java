@@ -6,14 +6,21 @@ import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 
+import java.util.List;
+
 public interface BaseController<R, K> {
+    int MAX_BATCH_SIZE = 1000;
+    int MAX_DELETE_IDS = 1000;
+
     ResponseEntity<PagedModel<R>> readAll(Integer page, String sort, Integer limit);
 
     ResponseEntity<R> readById(K id) throws NoSuchElementException;
 
-    R create(R createRequest) throws NoSuchElementException;
+    R create(R createRequest) throws NoSuchElementException, ValidationException;
 
     ResponseEntity<R> update(R updateRequest, Long id, BindingResult bindingResult) throws NoSuchElementException, ValidationException;
 
     void deleteById(K id) throws NoSuchElementException;
+
+    void deleteAllById(List<K> ids) throws ValidationException;
 }
@@ -0,0 +1,72 @@
+package com.mjc.school.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.HalHandlerInstantiator;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.LinkRelationProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * Compact binary encodings of the HAL responses for service-to-service clients. The mappers are
+ * copies of the JSON one, so DTOs and paged models keep the same field names and {@code _links}
+ * layout; Blackbird replaces reflective property access with generated lambdas.
+ */
+public final class BinaryFormats {
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private BinaryFormats() {
+    }
+
+    /**
+     * The format a response to this request is written in. Accepted types are tried by specificity
+     * and quality, as content negotiation does; wildcards and anything unknown resolve to JSON,
+     * whose converters come first.
+     */
+    public static MediaType negotiated(HttpServletRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) continue;
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) break;
+            if (CBOR.isCompatibleWith(mediaType)) return CBOR;
+            if (SMILE.isCompatibleWith(mediaType)) return SMILE;
+            if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) || MediaTypes.HAL_JSON.isCompatibleWith(mediaType)) break;
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    public static ObjectMapper cborMapper(ObjectMapper jsonMapper, LinkRelationProvider relProvider) {
+        return halMapper(jsonMapper, new CBORFactory(), relProvider);
+    }
+
+    public static ObjectMapper smileMapper(ObjectMapper jsonMapper, LinkRelationProvider relProvider) {
+        return halMapper(jsonMapper, new SmileFactory(), relProvider);
+    }
+
+    private static ObjectMapper halMapper(ObjectMapper jsonMapper, JsonFactory factory, LinkRelationProvider relProvider) {
+        ObjectMapper mapper = jsonMapper.copyWith(factory);
+        mapper.registerModule(new Jackson2HalModule());
+        mapper.registerModule(new BlackbirdModule());
+        mapper.setHandlerInstantiator(new HalHandlerInstantiator(relProvider, CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return mapper;
+    }
+}
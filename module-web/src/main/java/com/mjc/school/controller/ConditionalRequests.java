@@ -0,0 +1,56 @@
+package com.mjc.school.controller;
+
+import com.mjc.school.service.dto.VersionDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+
+/**
+ * ETag/Last-Modified handling for GET endpoints. Validators are computed from a cheap version
+ * lookup, so a matching request is answered with 304 before any entity is loaded or mapped.
+ */
+public final class ConditionalRequests {
+    private ConditionalRequests() {
+    }
+
+    /**
+     * The same version encoded as JSON, CBOR or Smile gives different bytes, so the negotiated
+     * format is part of the tag.
+     */
+    public static String etag(HttpServletRequest request, VersionDTO version, Object... variant) {
+        StringBuilder source = new StringBuilder(version.getVersion()).append('|').append(BinaryFormats.negotiated(request));
+        for (Object part : variant) {
+            source.append('|').append(part);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static boolean isNotModified(HttpServletRequest request, String etag, VersionDTO version) {
+        return new ServletWebRequest(request).checkNotModified(etag, lastModified(version));
+    }
+
+    public static <R> ResponseEntity<R> notModified(String etag, VersionDTO version) {
+        return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, version).build();
+    }
+
+    public static ResponseEntity.BodyBuilder ok(String etag, VersionDTO version) {
+        return validators(ResponseEntity.ok(), etag, version);
+    }
+
+    private static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder builder, String etag, VersionDTO version) {
+        builder.eTag(etag);
+        long lastModified = lastModified(version);
+        if (lastModified >= 0) builder.lastModified(lastModified);
+        return builder;
+    }
+
+    private static long lastModified(VersionDTO version) {
+        if (version.getLastModified() == null) return -1;
+        else return version.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,98 @@
+package com.mjc.school.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mjc.school.service.ExportService;
+import com.mjc.school.service.exception.ValidationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a full table export as NDJSON or CSV. Rows are written as the service maps them,
+ * so the response never holds more than one fetch chunk in memory.
+ */
+public final class Exports {
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private Exports() {
+    }
+
+    public static <R> ResponseEntity<StreamingResponseBody> export(ExportService<R> service, ObjectMapper objectMapper,
+                                                                   String format, String name,
+                                                                   List<String> header, Function<R, List<?>> row) throws ValidationException {
+        if (format == null || "ndjson".equals(format)) {
+            return response(NDJSON, name + ".ndjson", writer -> service.exportAll(dto -> {
+                try {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } else if ("csv".equals(format)) {
+            return response(CSV, name + ".csv", writer -> {
+                writer.write(csvLine(header));
+                service.exportAll(dto -> {
+                    try {
+                        writer.write(csvLine(row.apply(dto)));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            });
+        } else {
+            throw new ValidationException("Unsupported export format " + format);
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> response(MediaType mediaType, String filename, RowWriter rowWriter) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try {
+                rowWriter.write(writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    private static String csvLine(List<?> values) {
+        return values.stream().map(Exports::csvValue).collect(Collectors.joining(",", "", "\r\n"));
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        // spreadsheets evaluate cells starting with these as formulas
+        if (value instanceof CharSequence && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Writer writer) throws IOException;
+    }
+}
@@ -0,0 +1,64 @@
+package com.mjc.school.controller;
+
+import com.mjc.school.service.dto.CursorPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.PagedModel;
+
+public final class Pagination {
+    public static final int DEFAULT_PAGE = 1;
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private Pagination() {
+    }
+
+    public static Pageable pageRequest(Integer page, Integer limit, String sort, String property) {
+        int pageNumber = page == null || page < 1 ? DEFAULT_PAGE : page;
+        return PageRequest.of(pageNumber - 1, limit(limit), sortBy(sort, property));
+    }
+
+    public static int limit(Integer limit) {
+        return limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    public static <R> PagedModel<R> toPagedModel(Page<R> page, String path, String sort) {
+        PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(page.getSize(), page.getNumber() + 1,
+                page.getTotalElements(), page.getTotalPages());
+        PagedModel<R> pagedModel = PagedModel.of(page.getContent(), metadata);
+
+        if (page.hasNext()) {
+            pagedModel.add(Link.of(link(path, page.getNumber() + 2, page.getSize(), sort), LinkRelation.of("next")));
+        }
+        if (page.hasPrevious()) {
+            pagedModel.add(Link.of(link(path, page.getNumber(), page.getSize(), sort), LinkRelation.of("previous")));
+        }
+        return pagedModel;
+    }
+
+    public static <R> CollectionModel<R> toCollectionModel(CursorPage<R> page, String path, int limit) {
+        CollectionModel<R> collectionModel = CollectionModel.of(page.getContent());
+        if (page.hasNext()) {
+            String nextLink = String.format("%s?cursor=%s&limit=%d", path, page.getNextCursor(), limit);
+            collectionModel.add(Link.of(nextLink, LinkRelation.of("next")));
+        }
+        return collectionModel;
+    }
+
+    private static Sort sortBy(String sort, String property) {
+        if ("asc".equals(sort)) return Sort.by(Sort.Order.asc(property), Sort.Order.asc("id"));
+        else if ("desc".equals(sort)) return Sort.by(Sort.Order.desc(property), Sort.Order.asc("id"));
+        else return Sort.by("id");
+    }
+
+    private static String link(String path, int page, int limit, String sort) {
+        String link = String.format("%s%spage=%d&limit=%d", path, path.contains("?") ? "&" : "?", page, limit);
+        if ("asc".equals(sort) || "desc".equals(sort)) return link + "&sort=" + sort;
+        else return link;
+    }
+}
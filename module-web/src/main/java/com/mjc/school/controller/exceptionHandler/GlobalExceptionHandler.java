@@ -1,7 +1,10 @@
 package com.mjc.school.controller.exceptionHandler;
 
+import com.mjc.school.service.exception.BusyException;
 import com.mjc.school.service.exception.NoSuchElementException;
 import com.mjc.school.service.exception.ValidationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -23,4 +26,19 @@ public class GlobalExceptionHandler {
                 status(HttpStatus.BAD_REQUEST)
                 .body(e.getMessage());
     }
+
+    @ExceptionHandler(BusyException.class)
+    public ResponseEntity<String> handleBusyException(Exception e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolationException(Exception e) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body("Request conflicts with existing data");
+    }
 }
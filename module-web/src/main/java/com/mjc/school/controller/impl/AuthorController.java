@@ -1,18 +1,25 @@
 package com.mjc.school.controller.impl;
 
 import com.mjc.school.controller.BaseExtendController;
+import com.mjc.school.controller.ConditionalRequests;
+import com.mjc.school.controller.Pagination;
 import com.mjc.school.service.BaseExtendService;
+import com.mjc.school.service.SearchService;
 import com.mjc.school.service.dto.AuthorDTO;
 import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.NewsSearchDTO;
+import com.mjc.school.service.dto.VersionDTO;
 import com.mjc.school.service.exception.NoSuchElementException;
 import com.mjc.school.service.exception.ValidationException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
-import org.springframework.hateoas.Link;
-import org.springframework.hateoas.LinkRelation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,7 +27,6 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Comparator;
 import java.util.List;
 
 @RestController
@@ -28,11 +34,29 @@ import java.util.List;
 @RequestMapping("/author")
 public class AuthorController implements BaseExtendController<AuthorDTO, Long> {
     private BaseExtendService<AuthorDTO, Long> service;
+    private SearchService<NewsDTO, NewsSearchDTO> newsSearchService;
+    private HttpServletRequest request;
 
     @Override
     @GetMapping("/news/{id}")
-    public ResponseEntity<List<AuthorDTO>> readByNewsId(@PathVariable Long id) throws NoSuchElementException {
-        return ResponseEntity.ok(service.readByNewsId(id));
+    public ResponseEntity<PagedModel<AuthorDTO>> readByNewsId(@PathVariable Long id,
+                                                         @RequestParam(value = "page", required = false) Integer page,
+                                                         @RequestParam(value = "limit", required = false) Integer limit) throws NoSuchElementException {
+        Page<AuthorDTO> authorDTOPage = service.readByNewsId(id, Pagination.pageRequest(page, limit, null, "id"));
+        return ResponseEntity.ok(Pagination.toPagedModel(authorDTOPage, "/author/news/" + id, null));
+    }
+
+    @GetMapping("/{id}/news")
+    public ResponseEntity<PagedModel<NewsDTO>> readNews(@PathVariable Long id,
+                                                        @RequestParam(value = "page", required = false) Integer page,
+                                                        @RequestParam(value = "sort", required = false) String sort,
+                                                        @RequestParam(value = "limit", required = false) Integer limit) {
+        if (!service.existsById(id))
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity with id " + id + " not found");
+        NewsSearchDTO searchRequest = new NewsSearchDTO();
+        searchRequest.setAuthorId(id);
+        Page<NewsDTO> newsDTOPage = newsSearchService.search(searchRequest, Pagination.pageRequest(page, limit, sort, "title"));
+        return ResponseEntity.ok(Pagination.toPagedModel(newsDTOPage, "/author/" + id + "/news", sort));
     }
 
     @Override
@@ -41,51 +65,35 @@ public class AuthorController implements BaseExtendController<AuthorDTO, Long> {
                                                           @RequestParam(value = "sort", required = false) String sort,
                                                           @RequestParam(value = "limit", required = false) Integer limit) {
 
-        List<AuthorDTO> authorDTOList = service.readAll();
-        if (authorDTOList.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        } else {
-            if (page == null || sort == null || limit == null) {
-                return ResponseEntity.ok(PagedModel.of(authorDTOList, new PagedModel.PageMetadata(0, 0, authorDTOList.size())));
-            }
-
-            int startIndex = (page - 1) * limit;
-            int endIndex = Math.min(startIndex + limit, authorDTOList.size());
-            List<AuthorDTO> paginatedAuthorDTOList = authorDTOList.subList(startIndex, endIndex);
-
-            if (sort.equals("asc")) {
-                paginatedAuthorDTOList.sort(Comparator.comparing(AuthorDTO::getName));
-            } else if (sort.equals("desc")) {
-                paginatedAuthorDTOList.sort(Comparator.comparing(AuthorDTO::getName).reversed());
-            }
-
-            PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(limit, page, authorDTOList.size());
-            PagedModel<AuthorDTO> pagedModel = PagedModel.of(paginatedAuthorDTOList, metadata);
-
-            if (endIndex < authorDTOList.size()) {
-                String nextLink = String.format("/news?page=%d&limit=%d&sort=%s", (page + 1), limit, sort);
-                pagedModel.add(Link.of(nextLink, LinkRelation.of("next")));
-            }
-
-            if (startIndex > 0) {
-                String previousLink = String.format("/news?page=%d&limit=%d&sort=%s", (page - 1), limit, sort);
-                pagedModel.add(Link.of(previousLink, LinkRelation.of("previous")));
-            }
+        Pageable pageable = Pagination.pageRequest(page, limit, sort, "name");
+        VersionDTO version = service.readVersion();
+        String etag = ConditionalRequests.etag(request, version, pageable);
+        if (ConditionalRequests.isNotModified(request, etag, version)) {
+            return ConditionalRequests.notModified(etag, version);
+        }
 
-            return ResponseEntity.ok(pagedModel);
+        Page<AuthorDTO> authorDTOPage = service.readAll(pageable);
+        if (authorDTOPage.isEmpty()) {
+            return ResponseEntity.noContent().build();
         }
+        return ConditionalRequests.ok(etag, version).body(Pagination.toPagedModel(authorDTOPage, "/author", sort));
     }
 
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<AuthorDTO> readById(@PathVariable Long id) throws NoSuchElementException {
-        return ResponseEntity.ok(service.readById(id));
+        VersionDTO version = service.readVersion(id);
+        String etag = ConditionalRequests.etag(request, version, id);
+        if (ConditionalRequests.isNotModified(request, etag, version)) {
+            return ConditionalRequests.notModified(etag, version);
+        }
+        return ConditionalRequests.ok(etag, version).body(service.readById(id));
     }
 
     @Override
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public AuthorDTO create(@RequestBody @Valid AuthorDTO createRequest) throws NoSuchElementException {
+    public AuthorDTO create(@RequestBody @Valid AuthorDTO createRequest) throws NoSuchElementException, ValidationException {
         //validation delete
         return service.create(createRequest);
     }
@@ -112,4 +120,13 @@ public class AuthorController implements BaseExtendController<AuthorDTO, Long> {
         if (!service.deleteById(id))
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity with id " + id + " not found");
     }
+
+    @Override
+    @DeleteMapping(params = "ids")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteAllById(@RequestParam("ids") List<Long> ids) throws ValidationException {
+        if (ids.size() > MAX_DELETE_IDS) throw new ValidationException("At most " + MAX_DELETE_IDS + " ids can be deleted at once");
+        if (service.deleteAllById(ids) == 0)
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entities with ids " + ids + " not found");
+    }
 }
@@ -0,0 +1,23 @@
+package com.mjc.school.controller.impl;
+
+import com.mjc.school.service.CacheStatisticsService;
+import com.mjc.school.service.dto.CacheStatisticsDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/cache")
+public class CacheController {
+    private CacheStatisticsService service;
+
+    @GetMapping("/statistics")
+    public ResponseEntity<List<CacheStatisticsDTO>> readStatistics() {
+        return ResponseEntity.ok(service.readStatistics());
+    }
+}
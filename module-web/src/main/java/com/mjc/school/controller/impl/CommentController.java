@@ -1,27 +1,40 @@
 package com.mjc.school.controller.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mjc.school.controller.BaseExtendController;
+import com.mjc.school.controller.ConditionalRequests;
+import com.mjc.school.controller.Exports;
+import com.mjc.school.controller.Pagination;
 import com.mjc.school.service.BaseExtendService;
+import com.mjc.school.service.BatchService;
+import com.mjc.school.service.CursorService;
+import com.mjc.school.service.ExportService;
+import com.mjc.school.service.dto.BatchResultDTO;
 import com.mjc.school.service.dto.AuthorDTO;
+import com.mjc.school.service.dto.CursorPage;
 import com.mjc.school.service.dto.CommentDTO;
 import com.mjc.school.service.dto.TagDTO;
+import com.mjc.school.service.dto.VersionDTO;
 import com.mjc.school.service.exception.NoSuchElementException;
 import com.mjc.school.service.exception.ValidationException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
-import org.springframework.hateoas.Link;
-import org.springframework.hateoas.LinkRelation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -29,11 +42,19 @@ import java.util.List;
 @RequestMapping("/comment")
 public class CommentController implements BaseExtendController<CommentDTO, Long> {
     private BaseExtendService<CommentDTO, Long> service;
+    private CursorService<CommentDTO> cursorService;
+    private BatchService<CommentDTO> batchService;
+    private ExportService<CommentDTO> exportService;
+    private ObjectMapper objectMapper;
+    private HttpServletRequest request;
 
     @Override
     @GetMapping("/news/{id}")
-    public ResponseEntity<List<CommentDTO>> readByNewsId(@PathVariable Long id) throws NoSuchElementException {
-        return ResponseEntity.ok(service.readByNewsId(id));
+    public ResponseEntity<PagedModel<CommentDTO>> readByNewsId(@PathVariable Long id,
+                                                         @RequestParam(value = "page", required = false) Integer page,
+                                                         @RequestParam(value = "limit", required = false) Integer limit) throws NoSuchElementException {
+        Page<CommentDTO> commentDTOPage = service.readByNewsId(id, Pagination.pageRequest(page, limit, null, "id"));
+        return ResponseEntity.ok(Pagination.toPagedModel(commentDTOPage, "/comment/news/" + id, null));
     }
 
     @Override
@@ -42,55 +63,64 @@ public class CommentController implements BaseExtendController<CommentDTO, Long>
                                                       @RequestParam(value = "sort", required = false) String sort,
                                                       @RequestParam(value = "limit", required = false) Integer limit) {
 
-        List<CommentDTO> commentDTOList = service.readAll();
-        if (commentDTOList.isEmpty()) {
+        Pageable pageable = Pagination.pageRequest(page, limit, sort, "content");
+        VersionDTO version = service.readVersion();
+        String etag = ConditionalRequests.etag(request, version, pageable);
+        if (ConditionalRequests.isNotModified(request, etag, version)) {
+            return ConditionalRequests.notModified(etag, version);
+        }
+
+        Page<CommentDTO> commentDTOPage = service.readAll(pageable);
+        if (commentDTOPage.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ConditionalRequests.ok(etag, version).body(Pagination.toPagedModel(commentDTOPage, "/comment", sort));
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<CollectionModel<CommentDTO>> readFeed(@RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "limit", required = false) Integer limit) throws ValidationException {
+        int pageSize = Pagination.limit(limit);
+        CursorPage<CommentDTO> commentDTOPage = cursorService.readAfter(cursor, pageSize);
+        if (commentDTOPage.getContent().isEmpty()) {
             return ResponseEntity.noContent().build();
-        } else {
-            if (page == null || sort == null || limit == null) {
-                return ResponseEntity.ok(PagedModel.of(commentDTOList, new PagedModel.PageMetadata(0, 0, commentDTOList.size())));
-            }
-
-            int startIndex = (page - 1) * limit;
-            int endIndex = Math.min(startIndex + limit, commentDTOList.size());
-            List<CommentDTO> paginatedCommentDTOList = commentDTOList.subList(startIndex, endIndex);
-
-            if (sort.equals("asc")) {
-                paginatedCommentDTOList.sort(Comparator.comparing(CommentDTO::getContent));
-            } else if (sort.equals("desc")) {
-                paginatedCommentDTOList.sort(Comparator.comparing(CommentDTO::getContent).reversed());
-            }
-
-            PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(limit, page, commentDTOList.size());
-            PagedModel<CommentDTO> pagedModel = PagedModel.of(paginatedCommentDTOList, metadata);
-
-            if (endIndex < commentDTOList.size()) {
-                String nextLink = String.format("/news?page=%d&limit=%d&sort=%s", (page + 1), limit, sort);
-                pagedModel.add(Link.of(nextLink, LinkRelation.of("next")));
-            }
-
-            if (startIndex > 0) {
-                String previousLink = String.format("/news?page=%d&limit=%d&sort=%s", (page - 1), limit, sort);
-                pagedModel.add(Link.of(previousLink, LinkRelation.of("previous")));
-            }
-
-            return ResponseEntity.ok(pagedModel);
         }
+        return ResponseEntity.ok(Pagination.toCollectionModel(commentDTOPage, "/comment/feed", pageSize));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", required = false) String format) throws ValidationException {
+        return Exports.export(exportService, objectMapper, format, "comment", List.of("newsId", "content"),
+                comment -> Arrays.asList(comment.getNewsId(), comment.getContent()));
     }
 
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<CommentDTO> readById(@PathVariable Long id) throws NoSuchElementException {
-        return ResponseEntity.ok(service.readById(id));
+        VersionDTO version = service.readVersion(id);
+        String etag = ConditionalRequests.etag(request, version, id);
+        if (ConditionalRequests.isNotModified(request, etag, version)) {
+            return ConditionalRequests.notModified(etag, version);
+        }
+        return ConditionalRequests.ok(etag, version).body(service.readById(id));
     }
 
     @Override
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public CommentDTO create(@RequestBody @Valid CommentDTO createRequest) throws NoSuchElementException {
+    public CommentDTO create(@RequestBody @Valid CommentDTO createRequest) throws NoSuchElementException, ValidationException {
         //validation delete
         return service.create(createRequest);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDTO<CommentDTO>>> createAll(@RequestBody List<CommentDTO> createRequests) throws ValidationException {
+        if (createRequests.size() > MAX_BATCH_SIZE) throw new ValidationException("At most " + MAX_BATCH_SIZE + " items can be created at once");
+        List<BatchResultDTO<CommentDTO>> results = batchService.createAll(createRequests);
+        HttpStatus status = results.stream().allMatch(BatchResultDTO::isCreated) ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(results);
+    }
+
     @Override
     @PatchMapping("/{id}")
     public ResponseEntity<CommentDTO> update(@RequestBody @Valid CommentDTO updateRequest,
@@ -113,4 +143,13 @@ public class CommentController implements BaseExtendController<CommentDTO, Long>
         if (!service.deleteById(id))
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity with id " + id + " not found");
     }
+
+    @Override
+    @DeleteMapping(params = "ids")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteAllById(@RequestParam("ids") List<Long> ids) throws ValidationException {
+        if (ids.size() > MAX_DELETE_IDS) throw new ValidationException("At most " + MAX_DELETE_IDS + " ids can be deleted at once");
+        if (service.deleteAllById(ids) == 0)
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entities with ids " + ids + " not found");
+    }
 }
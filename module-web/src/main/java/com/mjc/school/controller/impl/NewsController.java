@@ -1,34 +1,56 @@
 package com.mjc.school.controller.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mjc.school.controller.BaseController;
+import com.mjc.school.controller.ConditionalRequests;
+import com.mjc.school.controller.Exports;
+import com.mjc.school.controller.Pagination;
 import com.mjc.school.service.BaseService;
+import com.mjc.school.service.BatchService;
+import com.mjc.school.service.CursorService;
+import com.mjc.school.service.ExportService;
+import com.mjc.school.service.SearchService;
+import com.mjc.school.service.dto.BatchResultDTO;
+import com.mjc.school.service.dto.CursorPage;
 import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.NewsSearchDTO;
 import com.mjc.school.service.dto.TagDTO;
+import com.mjc.school.service.dto.VersionDTO;
 import com.mjc.school.service.exception.NoSuchElementException;
 import com.mjc.school.service.exception.ValidationException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.hateoas.Link;
-import org.springframework.hateoas.LinkRelation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping("/news")
 public class NewsController implements BaseController<NewsDTO, Long> {
     private BaseService<NewsDTO, Long> service;
+    private CursorService<NewsDTO> cursorService;
+    private BatchService<NewsDTO> batchService;
+    private ExportService<NewsDTO> exportService;
+    private SearchService<NewsDTO, NewsSearchDTO> searchService;
+    private ObjectMapper objectMapper;
+    private HttpServletRequest request;
 
     @Override
     @GetMapping
@@ -36,55 +58,77 @@ public class NewsController implements BaseController<NewsDTO, Long> {
                                                  @RequestParam(value = "sort", required = false) String sort,
                                                  @RequestParam(value = "limit", required = false) Integer limit) {
 
-        List<NewsDTO> newsDTOList = service.readAll();
-        if (newsDTOList.isEmpty()) {
+        Pageable pageable = Pagination.pageRequest(page, limit, sort, "title");
+        VersionDTO version = service.readVersion();
+        String etag = ConditionalRequests.etag(request, version, pageable);
+        if (ConditionalRequests.isNotModified(request, etag, version)) {
+            return ConditionalRequests.notModified(etag, version);
+        }
+
+        Page<NewsDTO> newsDTOPage = service.readAll(pageable);
+        if (newsDTOPage.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ConditionalRequests.ok(etag, version).body(Pagination.toPagedModel(newsDTOPage, "/news", sort));
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<CollectionModel<NewsDTO>> readFeed(@RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "limit", required = false) Integer limit) throws ValidationException {
+        int pageSize = Pagination.limit(limit);
+        CursorPage<NewsDTO> newsDTOPage = cursorService.readAfter(cursor, pageSize);
+        if (newsDTOPage.getContent().isEmpty()) {
             return ResponseEntity.noContent().build();
-        } else {
-            if (page == null || sort == null || limit == null) {
-                return ResponseEntity.ok(PagedModel.of(newsDTOList, new PagedModel.PageMetadata(0, 0, newsDTOList.size())));
-            }
-
-            int startIndex = (page - 1) * limit;
-            int endIndex = Math.min(startIndex + limit, newsDTOList.size());
-            List<NewsDTO> paginatedNewsDTOList = newsDTOList.subList(startIndex, endIndex);
-
-            if (sort.equals("asc")) {
-                paginatedNewsDTOList.sort(Comparator.comparing(NewsDTO::getTitle));
-            } else if (sort.equals("desc")) {
-                paginatedNewsDTOList.sort(Comparator.comparing(NewsDTO::getTitle).reversed());
-            }
-
-            PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(limit, page, newsDTOList.size());
-            PagedModel<NewsDTO> pagedModel = PagedModel.of(paginatedNewsDTOList, metadata);
-
-            if (endIndex < newsDTOList.size()) {
-                String nextLink = String.format("/news?page=%d&limit=%d&sort=%s", (page + 1), limit, sort);
-                pagedModel.add(Link.of(nextLink, LinkRelation.of("next")));
-            }
-
-            if (startIndex > 0) {
-                String previousLink = String.format("/news?page=%d&limit=%d&sort=%s", (page - 1), limit, sort);
-                pagedModel.add(Link.of(previousLink, LinkRelation.of("previous")));
-            }
-
-            return ResponseEntity.ok(pagedModel);
         }
+        return ResponseEntity.ok(Pagination.toCollectionModel(newsDTOPage, "/news/feed", pageSize));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PagedModel<NewsDTO>> search(NewsSearchDTO searchRequest,
+                                                      @RequestParam(value = "page", required = false) Integer page,
+                                                      @RequestParam(value = "sort", required = false) String sort,
+                                                      @RequestParam(value = "limit", required = false) Integer limit) {
+        Page<NewsDTO> newsDTOPage = searchService.search(searchRequest, Pagination.pageRequest(page, limit, sort, "title"));
+        if (newsDTOPage.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(Pagination.toPagedModel(newsDTOPage, searchPath(searchRequest), sort));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", required = false) String format) throws ValidationException {
+        return Exports.export(exportService, objectMapper, format, "news", List.of("authorId", "title", "content", "tagsId"),
+                news -> Arrays.asList(news.getAuthorId(), news.getTitle(), news.getContent(),
+                        news.getTagsId().stream().mapToObj(String::valueOf).collect(Collectors.joining(" "))));
     }
 
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<NewsDTO> readById(@PathVariable Long id) throws NoSuchElementException {
-        return ResponseEntity.ok(service.readById(id));
+        VersionDTO version = service.readVersion(id);
+        String etag = ConditionalRequests.etag(request, version, id);
+        if (ConditionalRequests.isNotModified(request, etag, version)) {
+            return ConditionalRequests.notModified(etag, version);
+        }
+        return ConditionalRequests.ok(etag, version).body(service.readById(id));
     }
 
     @Override
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public NewsDTO create(@RequestBody @Valid NewsDTO createRequest) throws NoSuchElementException {
+    public NewsDTO create(@RequestBody @Valid NewsDTO createRequest) throws NoSuchElementException, ValidationException {
         //validation delete
         return service.create(createRequest);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDTO<NewsDTO>>> createAll(@RequestBody List<NewsDTO> createRequests) throws ValidationException {
+        if (createRequests.size() > MAX_BATCH_SIZE) throw new ValidationException("At most " + MAX_BATCH_SIZE + " items can be created at once");
+        List<BatchResultDTO<NewsDTO>> results = batchService.createAll(createRequests);
+        HttpStatus status = results.stream().allMatch(BatchResultDTO::isCreated) ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(results);
+    }
+
     @Override
     @PatchMapping("/{id}")
     public ResponseEntity<NewsDTO> update(@RequestBody @Valid NewsDTO updateRequest,
@@ -107,4 +151,25 @@ public class NewsController implements BaseController<NewsDTO, Long> {
         if (!service.deleteById(id))
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity with id " + id + " not found");
     }
+
+    @Override
+    @DeleteMapping(params = "ids")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteAllById(@RequestParam("ids") List<Long> ids) throws ValidationException {
+        if (ids.size() > MAX_DELETE_IDS) throw new ValidationException("At most " + MAX_DELETE_IDS + " ids can be deleted at once");
+        if (service.deleteAllById(ids) == 0)
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entities with ids " + ids + " not found");
+    }
+
+    // rebuilt from the bound criteria, so values are encoded exactly once
+    private static String searchPath(NewsSearchDTO searchRequest) {
+        UriComponentsBuilder path = UriComponentsBuilder.fromPath("/news/search");
+        if (searchRequest.getTitle() != null) path.queryParam("title", searchRequest.getTitle());
+        if (searchRequest.getContent() != null) path.queryParam("content", searchRequest.getContent());
+        if (searchRequest.getAuthorName() != null) path.queryParam("authorName", searchRequest.getAuthorName());
+        if (searchRequest.getAuthorId() != null) path.queryParam("authorId", searchRequest.getAuthorId());
+        if (searchRequest.getTagIds() != null && !searchRequest.getTagIds().isEmpty()) path.queryParam("tagIds", searchRequest.getTagIds());
+        if (searchRequest.getTagNames() != null && !searchRequest.getTagNames().isEmpty()) path.queryParam("tagNames", searchRequest.getTagNames());
+        return path.build().encode().toUriString();
+    }
 }
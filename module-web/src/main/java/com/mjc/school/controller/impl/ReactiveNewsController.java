@@ -0,0 +1,41 @@
+package com.mjc.school.controller.impl;
+
+import com.mjc.school.service.ReactiveReadService;
+import com.mjc.school.service.dto.CommentDTO;
+import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.TagDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/reactive/news")
+public class ReactiveNewsController {
+    private ReactiveReadService service;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<NewsDTO> readAll() {
+        return service.readAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<NewsDTO> readById(@PathVariable Long id) {
+        return service.readById(id);
+    }
+
+    @GetMapping(value = "/{id}/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CommentDTO> readCommentsByNewsId(@PathVariable Long id) {
+        return service.readCommentsByNewsId(id);
+    }
+
+    @GetMapping(value = "/{id}/tags", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TagDTO> readTagsByNewsId(@PathVariable Long id) {
+        return service.readTagsByNewsId(id);
+    }
+}
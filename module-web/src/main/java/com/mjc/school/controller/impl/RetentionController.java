@@ -0,0 +1,36 @@
+package com.mjc.school.controller.impl;
+
+import com.mjc.school.service.RetentionService;
+import com.mjc.school.service.dto.RetentionStatusDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/admin/comments/purge")
+public class RetentionController {
+    private RetentionService service;
+
+    @GetMapping
+    public ResponseEntity<RetentionStatusDTO> readStatus() {
+        return ResponseEntity.ok(service.readStatus());
+    }
+
+    @PostMapping
+    public ResponseEntity<RetentionStatusDTO> purge(@RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) {
+        if (dryRun) {
+            return ResponseEntity.ok(service.dryRun());
+        }
+        if (!service.startPurge()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Purge is already running");
+        }
+        return ResponseEntity.accepted().body(service.readStatus());
+    }
+}
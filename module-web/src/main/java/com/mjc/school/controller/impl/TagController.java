@@ -1,19 +1,27 @@
 package com.mjc.school.controller.impl;
 
 import com.mjc.school.controller.BaseExtendController;
+import com.mjc.school.controller.ConditionalRequests;
+import com.mjc.school.controller.Pagination;
 import com.mjc.school.service.BaseExtendService;
+import com.mjc.school.service.BatchService;
+import com.mjc.school.service.SearchService;
+import com.mjc.school.service.dto.BatchResultDTO;
 import com.mjc.school.service.dto.CommentDTO;
 import com.mjc.school.service.dto.NewsDTO;
+import com.mjc.school.service.dto.NewsSearchDTO;
 import com.mjc.school.service.dto.TagDTO;
+import com.mjc.school.service.dto.VersionDTO;
 import com.mjc.school.service.exception.NoSuchElementException;
 import com.mjc.school.service.exception.ValidationException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
-import org.springframework.hateoas.Link;
-import org.springframework.hateoas.LinkRelation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,19 +29,38 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping("/tag")
 public class TagController implements BaseExtendController<TagDTO, Long> {
     private BaseExtendService<TagDTO, Long> service;
+    private SearchService<NewsDTO, NewsSearchDTO> newsSearchService;
+    private BatchService<TagDTO> batchService;
+    private HttpServletRequest request;
 
     @Override
     @GetMapping("/news/{id}")
-    public ResponseEntity<List<TagDTO>> readByNewsId(@PathVariable Long id) throws NoSuchElementException {
-        return ResponseEntity.ok(service.readByNewsId(id));
+    public ResponseEntity<PagedModel<TagDTO>> readByNewsId(@PathVariable Long id,
+                                                         @RequestParam(value = "page", required = false) Integer page,
+                                                         @RequestParam(value = "limit", required = false) Integer limit) throws NoSuchElementException {
+        Page<TagDTO> tagDTOPage = service.readByNewsId(id, Pagination.pageRequest(page, limit, null, "id"));
+        return ResponseEntity.ok(Pagination.toPagedModel(tagDTOPage, "/tag/news/" + id, null));
+    }
+
+    @GetMapping("/{id}/news")
+    public ResponseEntity<PagedModel<NewsDTO>> readNews(@PathVariable Long id,
+                                                        @RequestParam(value = "page", required = false) Integer page,
+                                                        @RequestParam(value = "sort", required = false) String sort,
+                                                        @RequestParam(value = "limit", required = false) Integer limit) {
+        if (!service.existsById(id))
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity with id " + id + " not found");
+        NewsSearchDTO searchRequest = new NewsSearchDTO();
+        searchRequest.setTagIds(Set.of(id));
+        Page<NewsDTO> newsDTOPage = newsSearchService.search(searchRequest, Pagination.pageRequest(page, limit, sort, "title"));
+        return ResponseEntity.ok(Pagination.toPagedModel(newsDTOPage, "/tag/" + id + "/news", sort));
     }
 
     @Override
@@ -42,55 +69,47 @@ public class TagController implements BaseExtendController<TagDTO, Long> {
                                                        @RequestParam(value = "sort", required = false) String sort,
                                                        @RequestParam(value = "limit", required = false) Integer limit) {
 
-        List<TagDTO> tagDTOList = service.readAll();
-        if (tagDTOList.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        } else {
-            if (page == null || sort == null || limit == null) {
-                return ResponseEntity.ok(PagedModel.of(tagDTOList, new PagedModel.PageMetadata(0, 0, tagDTOList.size())));
-            }
-
-            int startIndex = (page - 1) * limit;
-            int endIndex = Math.min(startIndex + limit, tagDTOList.size());
-            List<TagDTO> paginatedTagDTOList = tagDTOList.subList(startIndex, endIndex);
-
-            if (sort.equals("asc")) {
-                paginatedTagDTOList.sort(Comparator.comparing(TagDTO::getName));
-            } else if (sort.equals("desc")) {
-                paginatedTagDTOList.sort(Comparator.comparing(TagDTO::getName).reversed());
-            }
-
-            PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(limit, page, tagDTOList.size());
-            PagedModel<TagDTO> pagedModel = PagedModel.of(paginatedTagDTOList, metadata);
-
-            if (endIndex < tagDTOList.size()) {
-                String nextLink = String.format("/news?page=%d&limit=%d&sort=%s", (page + 1), limit, sort);
-                pagedModel.add(Link.of(nextLink, LinkRelation.of("next")));
-            }
-
-            if (startIndex > 0) {
-                String previousLink = String.format("/news?page=%d&limit=%d&sort=%s", (page - 1), limit, sort);
-                pagedModel.add(Link.of(previousLink, LinkRelation.of("previous")));
-            }
+        Pageable pageable = Pagination.pageRequest(page, limit, sort, "name");
+        VersionDTO version = service.readVersion();
+        String etag = ConditionalRequests.etag(request, version, pageable);
+        if (ConditionalRequests.isNotModified(request, etag, version)) {
+            return ConditionalRequests.notModified(etag, version);
+        }
 
-            return ResponseEntity.ok(pagedModel);
+        Page<TagDTO> tagDTOPage = service.readAll(pageable);
+        if (tagDTOPage.isEmpty()) {
+            return ResponseEntity.noContent().build();
         }
+        return ConditionalRequests.ok(etag, version).body(Pagination.toPagedModel(tagDTOPage, "/tag", sort));
     }
 
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<TagDTO> readById(@PathVariable Long id) throws NoSuchElementException {
-        return ResponseEntity.ok(service.readById(id));
+        VersionDTO version = service.readVersion(id);
+        String etag = ConditionalRequests.etag(request, version, id);
+        if (ConditionalRequests.isNotModified(request, etag, version)) {
+            return ConditionalRequests.notModified(etag, version);
+        }
+        return ConditionalRequests.ok(etag, version).body(service.readById(id));
     }
 
     @Override
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public TagDTO create(@RequestBody @Valid TagDTO createRequest) throws NoSuchElementException {
+    public TagDTO create(@RequestBody @Valid TagDTO createRequest) throws NoSuchElementException, ValidationException {
         //validation delete
         return service.create(createRequest);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResultDTO<TagDTO>>> createAll(@RequestBody List<TagDTO> createRequests) throws ValidationException {
+        if (createRequests.size() > MAX_BATCH_SIZE) throw new ValidationException("At most " + MAX_BATCH_SIZE + " items can be created at once");
+        List<BatchResultDTO<TagDTO>> results = batchService.createAll(createRequests);
+        HttpStatus status = results.stream().allMatch(BatchResultDTO::isCreated) ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(results);
+    }
+
     @Override
     @PatchMapping("/{id}")
     public ResponseEntity<TagDTO> update(@RequestBody @Valid TagDTO updateRequest,
@@ -113,4 +132,13 @@ public class TagController implements BaseExtendController<TagDTO, Long> {
         if (!service.deleteById(id))
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity with id " + id + " not found");
     }
+
+    @Override
+    @DeleteMapping(params = "ids")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteAllById(@RequestParam("ids") List<Long> ids) throws ValidationException {
+        if (ids.size() > MAX_DELETE_IDS) throw new ValidationException("At most " + MAX_DELETE_IDS + " ids can be deleted at once");
+        if (service.deleteAllById(ids) == 0)
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entities with ids " + ids + " not found");
+    }
 }